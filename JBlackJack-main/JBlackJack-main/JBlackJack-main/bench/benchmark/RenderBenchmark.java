@@ -0,0 +1,186 @@
+package benchmark;
+
+import controller.Controller;
+import model.CompiledStrategy;
+import model.Model;
+import model.Shoe;
+import view.SeatLayout;
+import view.TableView;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Misura il costo di un frame del GamePanel di TableView, con le disposizioni da 1, 2 e 3 giocatori.
+ * Ogni pannello viene disegnato fuori schermo in una BufferedImage, dopo una mano a seme fisso
+ * (una carta chiesta, poi "Stay") e con le animazioni ferme, così i frame sono confrontabili tra commit.
+ * Riporta i percentili del tempo per frame e i byte allocati per frame.
+ * Senza display usa AWT headless; con Xvfb o un display reale usa quello.
+ * È fuori dal modulo JMH perché misura il disegno sull'EDT, frame per frame
+ */
+public class RenderBenchmark {
+    // Frame di riscaldamento e frame misurati
+    private static final int WARMUP_FRAMES = 2_000;
+    private static final int MEASURED_FRAMES = 5_000;
+
+    // Attesa perché i timer delle animazioni portino le carte in posizione
+    private static final long SETTLE_MILLIS = 2_000;
+
+    // Mazzi e seme della mano simulata
+    private static final int DECKS = 6;
+    private static final long SEED = 42;
+
+    // Contatore dei byte allocati dal thread corrente, null se la JVM non lo offre
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS = allocationCounter();
+
+    /**
+     * Avvia le misure
+     *
+     * @param args il nome di un singolo caso (opzionale)
+     */
+    public static void main(String[] args) throws Exception {
+        if (System.getProperty("java.awt.headless") == null && System.getenv("DISPLAY") == null
+                && !System.getProperty("os.name").startsWith("Windows") && !System.getProperty("os.name").startsWith("Mac")) {
+            System.setProperty("java.awt.headless", "true");
+        }
+        Map<String, Integer> cases = new LinkedHashMap<>();
+        cases.put("onePlayer", 1);
+        cases.put("twoPlayers", 2);
+        cases.put("threePlayers", 3);
+
+        for (Map.Entry<String, Integer> entry : cases.entrySet()) {
+            if (args.length == 0 || args[0].equals(entry.getKey())) {
+                run(entry.getKey(), entry.getValue());
+            }
+        }
+        if (args.length > 0 && !cases.containsKey(args[0])) {
+            throw new IllegalArgumentException("Caso sconosciuto: " + args[0] + ", disponibili: " + cases.keySet());
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Prepara una vista con la mano simulata e ne misura i frame
+     * @param name Il nome del caso
+     * @param players Il numero di giocatori della vista
+     */
+    private static void run(String name, int players) throws InterruptedException, InvocationTargetException {
+        JPanel[] gamePanel = new JPanel[1];
+        SwingUtilities.invokeAndWait(() -> gamePanel[0] = play(players, new TableView(SeatLayout.forPlayers(players))));
+        // Lascia lavorare i timer delle animazioni sull'EDT
+        Thread.sleep(SETTLE_MILLIS);
+        SwingUtilities.invokeAndWait(() -> measure(name, gamePanel[0]));
+    }
+
+    /**
+     * Gioca una mano a seme fisso come farebbe il Controller
+     * @param players Il numero di giocatori
+     * @param view La vista
+     * @return Il GamePanel della vista
+     */
+    private static JPanel play(int players, TableView view) {
+        Model model = new Model(players, new Shoe(DECKS, new SplittableRandom(SEED)));
+        view.setSize(Controller.BOARD_WIDTH, Controller.BOARD_HEIGHT);
+        view.doLayout();
+        // Siamo sull'EDT: gli eventi aggiornano la vista subito
+        model.getEvents().addListener(view.getGameListener());
+        model.startNewGame();
+        view.updateView(model.snapshot());
+        model.hit(Model.PLAYER);
+        view.updateView(model.snapshot());
+        view.setHitButtonEnabled(false);
+        view.setStayButtonEnabled(false);
+        // Come nel Controller: prima i bot, poi il dealer
+        for (int seat = Model.BOT1; seat < players; seat++) {
+            model.playSeat(seat, CompiledStrategy.DEALER_MIMIC);
+        }
+        model.dealerTurn();
+        model.settleRound();
+        view.updateView(model.snapshot());
+        return view.gamePanel;
+    }
+
+    /**
+     * Disegna ripetutamente il pannello fuori schermo e stampa le statistiche
+     * Va chiamato sull'EDT, come il disegno reale
+     * @param name Il nome del caso
+     * @param panel Il pannello da disegnare
+     */
+    private static void measure(String name, JPanel panel) {
+        BufferedImage image = new BufferedImage(panel.getWidth(), panel.getHeight(), BufferedImage.TYPE_INT_RGB);
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            frame(panel, image);
+        }
+        long[] times = new long[MEASURED_FRAMES];
+        long allocated = allocatedBytes();
+        for (int i = 0; i < times.length; i++) {
+            long start = System.nanoTime();
+            frame(panel, image);
+            times[i] = System.nanoTime() - start;
+        }
+        allocated = allocatedBytes() - allocated;
+        Arrays.sort(times);
+        String allocation = ALLOCATIONS != null
+                ? String.format(Locale.ROOT, " %,10.0f B/frame", (double) allocated / times.length) : "";
+        System.out.println(String.format(Locale.ROOT, "%-14s p50 %8.1f  p90 %8.1f  p99 %8.1f  max %8.1f us",
+                name, micros(times, 0.50), micros(times, 0.90), micros(times, 0.99), times[times.length - 1] / 1e3)
+                + allocation);
+    }
+
+    /**
+     * Disegna un frame
+     * @param panel Il pannello
+     * @param image L'immagine di destinazione
+     */
+    private static void frame(JPanel panel, BufferedImage image) {
+        Graphics2D g = image.createGraphics();
+        panel.paint(g);
+        g.dispose();
+    }
+
+    /**
+     * Restituisce il contatore delle allocazioni per thread, se disponibile
+     * @return Il bean di gestione dei thread, null se non misura le allocazioni
+     */
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+                if (threads.isThreadAllocatedMemorySupported()) {
+                    threads.setThreadAllocatedMemoryEnabled(true);
+                    return threads;
+                }
+            }
+        } catch (LinkageError | UnsupportedOperationException e) {
+            // Modulo jdk.management assente: si misura solo il tempo
+        }
+        return null;
+    }
+
+    /**
+     * Byte allocati finora dal thread corrente
+     * @return I byte allocati, 0 se non misurabili
+     */
+    private static long allocatedBytes() {
+        return ALLOCATIONS == null ? 0 : ALLOCATIONS.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Percentile dei tempi ordinati, in microsecondi
+     * @param sorted I tempi ordinati in nanosecondi
+     * @param quantile Il quantile, tra 0 e 1
+     * @return Il tempo in microsecondi
+     */
+    private static double micros(long[] sorted, double quantile) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e3;
+    }
+}
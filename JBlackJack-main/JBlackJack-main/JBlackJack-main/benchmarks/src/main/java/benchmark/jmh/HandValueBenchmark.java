@@ -0,0 +1,78 @@
+package benchmark.jmh;
+
+import model.Cards;
+import model.HandState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Punteggio di una mano di tre carte con la tabella
+ * di HandState e con il vecchio schema somma + conteggio assi + reduceAce
+ */
+@Fork(1)
+@Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class HandValueBenchmark {
+    // Numero di carte nel buffer circolare (potenza di 2)
+    private static final int CARDS = 1 << 12;
+
+    // Carte per mano
+    private static final int HAND_SIZE = 3;
+
+    // Carte casuali, uguali per tutti i casi
+    private byte[] cards;
+    private int position;
+
+    @Setup
+    public void setup() {
+        cards = new byte[CARDS];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = (byte) random.nextInt(Cards.DECK_SIZE);
+        }
+    }
+
+    /**
+     * Punteggio con somma, conteggio degli assi e reduceAce, come nel vecchio Model
+     */
+    @Benchmark
+    public int reduceAce() {
+        int p = position;
+        int sum = 0;
+        int aceCount = 0;
+        for (int i = 0; i < HAND_SIZE; i++) {
+            int card = cards[(p + i) & (CARDS - 1)];
+            sum += Cards.value(card);
+            aceCount += Cards.isAce(card) ? 1 : 0;
+        }
+        position = (p + HAND_SIZE) & (CARDS - 1);
+        while (sum > 21 && aceCount > 0) {
+            sum -= 10;
+            aceCount--;
+        }
+        return sum;
+    }
+
+    /**
+     * Punteggio con le transizioni di HandState
+     */
+    @Benchmark
+    public int handState() {
+        int p = position;
+        int state = HandState.EMPTY;
+        for (int i = 0; i < HAND_SIZE; i++) {
+            state = HandState.add(state, cards[(p + i) & (CARDS - 1)]);
+        }
+        position = (p + HAND_SIZE) & (CARDS - 1);
+        return HandState.total(state);
+    }
+}
@@ -0,0 +1,158 @@
+package benchmark.jmh;
+
+import model.BasicStrategy;
+import model.Cards;
+import model.CompiledStrategy;
+import model.DealerOdds;
+import model.Model;
+import model.Rules;
+import model.Shoe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distribuzione iniziale, round completo, pescata di una carta, valore di una carta
+ * e probabilità del dealer, con un seme fisso così i risultati sono confrontabili tra commit
+ */
+@Fork(1)
+@Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+public class ModelBenchmark {
+    // Mazzi nel sabot, come nel Controller
+    private static final int DECKS = 6;
+
+    // Seme fisso, per confrontare esecuzioni diverse
+    private static final long SEED = 42;
+
+    /**
+     * Un tavolo con da 1 a 4 posti e la strategia di tutti i posti
+     */
+    @State(Scope.Thread)
+    public static class TableState {
+        @Param({"1", "2", "3", "4"})
+        int seats;
+
+        // dealer-mimic, oppure basic che raddoppia, divide e si arrende
+        @Param({"dealer-mimic", "basic"})
+        String strategy;
+
+        Model model;
+        CompiledStrategy compiled;
+
+        @Setup
+        public void setup() {
+            model = new Model(seats, new Shoe(DECKS, new SplittableRandom(SEED)));
+            compiled = strategy.equals("basic") ? BasicStrategy.solve(Rules.DEFAULT).compile() : CompiledStrategy.DEALER_MIMIC;
+        }
+    }
+
+    /**
+     * Un tavolo da un posto per la pescata e un cursore per scorrere le carte
+     */
+    @State(Scope.Thread)
+    public static class CardState {
+        Model model;
+        int position;
+
+        @Setup
+        public void setup() {
+            model = new Model(1, new Shoe(DECKS, new SplittableRandom(SEED)));
+        }
+    }
+
+    /**
+     * Probabilità del dealer con la cache piena o con la cache di un solo elemento (ricorsione sempre ricalcolata)
+     */
+    @State(Scope.Thread)
+    public static class OddsState {
+        // 32768 = DealerOdds.DEFAULT_CACHE_SIZE
+        @Param({"32768", "1"})
+        int cacheSize;
+
+        DealerOdds odds;
+        int[][] remaining;
+        double[] outcomes;
+        int upcard;
+
+        @Setup
+        public void setup() {
+            odds = new DealerOdds(cacheSize);
+            remaining = new int[DealerOdds.VALUES][];
+            for (int value = 0; value < DealerOdds.VALUES; value++) {
+                remaining[value] = DealerOdds.fullShoe(DECKS);
+                remaining[value][value]--;
+            }
+            outcomes = new double[DealerOdds.OUTCOMES];
+        }
+    }
+
+    /**
+     * Distribuzione iniziale delle carte
+     */
+    @Benchmark
+    public int startNewGame(TableState state) {
+        state.model.startNewGame();
+        return state.model.getDealerTotal();
+    }
+
+    /**
+     * Round completo: distribuzione, turno di ogni posto, turno del dealer e risultati
+     */
+    @Benchmark
+    public long round(TableState state) {
+        Model model = state.model;
+        model.startNewGame();
+        for (int seat = 0; seat < state.seats; seat++) {
+            model.playSeat(seat, state.compiled);
+        }
+        model.dealerTurn();
+        model.settleRound();
+        long results = 0;
+        for (int seat = 0; seat < state.seats; seat++) {
+            results += model.getNet(seat);
+        }
+        return results;
+    }
+
+    /**
+     * Pescata di una carta dal sabot; alla carta di taglio inizia un nuovo round, che rimescola
+     */
+    @Benchmark
+    public int drawCard(CardState state) {
+        Model model = state.model;
+        if (model.getShoeView().needsShuffle()) {
+            model.startNewGame();
+        }
+        return model.drawCard().getOrdinal();
+    }
+
+    /**
+     * Valore di una carta tramite la carta flyweight
+     */
+    @Benchmark
+    public int cardValue(CardState state) {
+        int card = state.position;
+        state.position = card + 1 == Cards.DECK_SIZE ? 0 : card + 1;
+        return Model.Card.of(card).getValue();
+    }
+
+    /**
+     * Probabilità del dealer per ogni carta scoperta, con un sabot completo
+     */
+    @Benchmark
+    public double dealerOdds(OddsState state) {
+        int value = state.upcard;
+        state.upcard = value + 1 == DealerOdds.VALUES ? 0 : value + 1;
+        state.odds.outcomes(Cards.of(value, 0), state.remaining[value], state.outcomes);
+        return state.outcomes[DealerOdds.BUST];
+    }
+}
@@ -0,0 +1,94 @@
+package benchmark.jmh;
+
+import model.Cards;
+import model.Shoe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mescolamento Fisher-Yates del sabot con diversi generatori
+ * e vecchio mescolamento su ArrayList, per 1, 6 e 8 mazzi
+ */
+@Fork(1)
+@Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+public class ShuffleBenchmark {
+
+    /**
+     * Il numero di mazzi del sabot
+     */
+    @State(Scope.Thread)
+    public static class DeckState {
+        @Param({"1", "6", "8"})
+        int decks;
+    }
+
+    /**
+     * Un sabot con un generatore casuale
+     */
+    @State(Scope.Thread)
+    public static class ShoeState extends DeckState {
+        @Param({"SplittableRandom", "L64X128MixRandom", Shoe.SECURE_RANDOM})
+        String generator;
+
+        Shoe shoe;
+
+        @Setup
+        public void setup() {
+            shoe = new Shoe(decks, Shoe.randomGenerator(generator));
+        }
+    }
+
+    /**
+     * Un mazzo come nel vecchio Model, con valori boxed in una ArrayList
+     */
+    @State(Scope.Thread)
+    public static class LegacyState extends DeckState {
+        List<Integer> deck;
+        Random random;
+
+        @Setup
+        public void setup() {
+            deck = new ArrayList<>();
+            for (int i = 0; i < decks * Cards.DECK_SIZE; i++) {
+                deck.add(i % Cards.DECK_SIZE);
+            }
+            random = new Random();
+        }
+    }
+
+    /**
+     * Mescolamento Fisher-Yates del sabot
+     */
+    @Benchmark
+    public int shuffle(ShoeState state) {
+        state.shoe.shuffle();
+        return state.shoe.draw();
+    }
+
+    /**
+     * Il vecchio mescolamento del Model: scambio con un indice su tutto l'intervallo (distorto)
+     */
+    @Benchmark
+    public int legacy(LegacyState state) {
+        List<Integer> deck = state.deck;
+        for (int i = 0; i < deck.size(); i++) {
+            int j = state.random.nextInt(deck.size());
+            Integer temp = deck.get(i);
+            deck.set(i, deck.get(j));
+            deck.set(j, temp);
+        }
+        return deck.get(0);
+    }
+}
@@ -1,18 +1,34 @@
 package controller;
 
+import model.BasicStrategy;
+import model.CompiledStrategy;
+import model.CountingStrategy;
+import model.GameEventBus;
+import model.GameListener;
 import model.Model;
+import model.RoundSnapshot;
+import model.Rules;
+import model.Shoe;
+import persistence.PlayerProfile;
+import persistence.ProfileStore;
+import persistence.StrategyCache;
 
 
 import view.*;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Controller del progetto
- * gestisce la logica di gioco, gli ActionListener, il Game Loop
+ * gestisce la logica di gioco e gli ActionListener; le view vengono notificate solo quando il model cambia.
+ * La logica di gioco gira su un thread dedicato: il model non viene mai toccato dall'EDT,
+ * che riceve solo fotografie immutabili del round (RoundSnapshot) e gli eventi di gioco.
+ * Gli eventi passano da un unico GameEventBus, condiviso da tutte le partite: la view della partita in corso
+ * li riceve per muovere le carte una alla volta, le fotografie portano azioni disponibili e risultati
  */
 public class Controller {
     // Costanti per le dimensioni del gioco
@@ -20,6 +36,9 @@ public class Controller {
     public static final int BOARD_HEIGHT = 800;
     public static final Color BACKGROUND_COLOR = new Color(53, 101, 77);
     
+    // Numero di mazzi nel sabot
+    public static final int SHOE_DECKS = Rules.DEFAULT.getDecks();
+    
     // Componenti grafici
     public JFrame frame;
     private CardLayout cardLayout;
@@ -29,11 +48,33 @@ public class Controller {
     private Start startView;
     private Home homeView;
     private Bet betView;
-    private GameView gameView;
+    private TableView gameView;
     
-    // il model del gioco
+    // il model del gioco, usato solo dal thread di gioco
     private Model model;
     
+    // Il sabot, condiviso tra le partite e rimescolato alla carta di taglio; usato solo dal thread di gioco
+    private final Shoe shoe = new Shoe(SHOE_DECKS, Shoe.randomGenerator(Shoe.SECURE_RANDOM));
+    
+    // Thread di gioco: esegue in ordine le azioni sul model, senza bloccare l'EDT
+    private final ExecutorService gameExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "game");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // Bus degli eventi di gioco, condiviso da tutte le partite
+    private final GameEventBus events = new GameEventBus();
+    
+    // Strategie compilate dei bot, caricate alla prima partita (solo thread di gioco)
+    private CompiledStrategy[] botStrategies;
+    
+    // true se il round è cambiato dall'ultima fotografia pubblicata (solo thread di gioco)
+    private boolean roundChanged;
+    
+    // true quando il risultato della partita corrente è già stato contato (solo EDT)
+    private boolean roundCounted;
+    
     // Dati del giocatore
     private String nickname;
     private int avatar = 1;
@@ -43,25 +84,63 @@ public class Controller {
     private int importo = 1000;
     private int puntata = 0;
     
-    // Timer per il game loop
-    private Timer gameLoopTimer;
+    // Archivio del profilo del giocatore, null se non è stato possibile aprirlo
+    private volatile ProfileStore profileStore;
     
     /**
      * Costruttore del controller
      * Inizializza: frame e le views
      */
     public Controller() {
+        registerGameListener();
         initializeFrame();
         initializeViews();
         setupActionListeners();
         showStartView();
     }
     
+    /**
+     * Registra l'ascoltatore che segna il round come cambiato; la fotografia viene pubblicata
+     * una sola volta al termine di ogni azione, anche se l'azione ha prodotto più eventi
+     */
+    private void registerGameListener() {
+        events.addListener(new GameListener() {
+            @Override
+            public void cardDealt(int hand, int index, int card) {
+                roundChanged = true;
+            }
+            
+            @Override
+            public void turnChanged(int seat, int hand) {
+                roundChanged = true;
+            }
+            
+            @Override
+            public void insuranceClosed(boolean dealerBlackjack) {
+                roundChanged = true;
+            }
+            
+            @Override
+            public void dealerRevealed(int holeCard) {
+                roundChanged = true;
+            }
+            
+            @Override
+            public void roundSettled(int dealerTotal) {
+                roundChanged = true;
+            }
+        });
+    }
+    
     /**
      * Inizializza il frame principale
      */
     private void initializeFrame() {
         frame = new JFrame("BlackJack");
+        // Alla chiusura le scritture del profilo ancora in coda vengono completate
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (profileStore != null) profileStore.close();
+        }, "profile-close"));
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         frame.setSize(BOARD_WIDTH, BOARD_HEIGHT);
         frame.setLocationRelativeTo(null);
@@ -98,12 +177,38 @@ public class Controller {
         playClickSound();
         nickname = startView.getNickname();
         if (nickname != null && !nickname.trim().isEmpty()) {
+            openProfile();
             showHomeView();
         } else {
             JOptionPane.showMessageDialog(frame, "Inserisci un nickname valido!");
         }
     }
     
+    /**
+     * Apre il profilo del nickname inserito e ne recupera statistiche e importo
+     * L'avatar scelto nello Start sostituisce quello salvato
+     */
+    private void openProfile() {
+        if (profileStore != null) {
+            profileStore.close();
+        }
+        try {
+            profileStore = ProfileStore.open(nickname, avatar, importo);
+        } catch (IOException e) {
+            System.err.println("Impossibile aprire il profilo di " + nickname + ": " + e.getMessage());
+            profileStore = null;
+            return;
+        }
+        PlayerProfile profile = profileStore.getProfile();
+        winCount = profile.getWinCount();
+        defeatCount = profile.getDefeatCount();
+        drawCount = profile.getDrawCount();
+        importo = profile.getImporto();
+        if (profile.getAvatar() != avatar) {
+            profileStore.recordAvatar(avatar);
+        }
+    }
+    
     /**
      * Gestisce l'evento del pulsante Left  dello Start
      */
@@ -223,28 +328,15 @@ public class Controller {
             return;
         }
         
-        // Inizializza il modello
-        model = new Model(players);
-        model.startNewGame();
-        
-        // Inizializza la giusta view di gioco :
-        switch (players) {
-        	// OnePlayer se il giocatore ha deciso di sfidare solo il banco
-            case 1:
-                gameView = new OnePlayer();
-                break;
-             // TwoPlayers se il giocatore ha deciso di sfidare 2 avversari
-            case 2:
-                gameView = new TwoPlayers();
-                break;
-             // ThreePlayers se il giocatore ha deciso di sfidare 3 avversi
-            case 3:
-                gameView = new ThreePlayers();
-                break;
-        }
+        // Inizializza la view di gioco con la disposizione adatta al numero di giocatori
+        gameView = new TableView(SeatLayout.forPlayers(players));
         
         // Aggiungi la gameView al pannello principale
-        mainPanel.add((JPanel) gameView, "game");
+        mainPanel.add(gameView, "game");
+        
+        // La view segue le carte e l'importo tramite gli eventi di gioco
+        events.addListener(gameView.getGameListener());
+        events.bankrollChanged(importo);
         
         // Configura il controller di gioco
         setupGameController();
@@ -252,149 +344,199 @@ public class Controller {
         // Mostra la view del gioco
         cardLayout.show(mainPanel, "game");
         
-        // Avvia il Game Loop
-        startGameLoop();
+        // Il model viene creato e la prima mano distribuita sul thread di gioco
+        roundCounted = false;
+        runGameAction(() -> {
+            model = new Model(players, shoe, events);
+            model.startNewGame();
+            
+            // Blackjack del giocatore o del dealer (con un dieci scoperto): il round finisce subito
+            if (model.isSeatDone(Model.PLAYER)) {
+                resolveRound();
+            }
+        });
+    }
+    
+    /**
+     * Esegue un'azione sul thread di gioco; se l'azione ha cambiato il round,
+     * la nuova fotografia viene pubblicata sull'EDT
+     * 
+     * @param action L'azione sul model
+     */
+    private void runGameAction(Runnable action) {
+        TableView view = gameView;
+        gameExecutor.execute(() -> {
+            action.run();
+            if (roundChanged) {
+                roundChanged = false;
+                RoundSnapshot snapshot = model.snapshot();
+                SwingUtilities.invokeLater(() -> showSnapshot(view, snapshot));
+            }
+        });
+    }
+    
+    /**
+     * Mostra una fotografia del round; abilita i pulsanti delle azioni disponibili che l'importo può coprire
+     * e quando il round è concluso aggiorna una sola volta statistiche e importo
+     * 
+     * @param view La view della partita a cui appartiene la fotografia
+     * @param snapshot La fotografia del round
+     */
+    private void showSnapshot(TableView view, RoundSnapshot snapshot) {
+        // Fotografia di una partita già abbandonata
+        if (view != gameView) return;
+        
+        if (snapshot.isSettled() && !roundCounted) {
+            roundCounted = true;
+            updateResults(snapshot.getResult(Model.PLAYER), snapshot.getNet(Model.PLAYER));
+        }
+        
+        // Raddoppio, split e assicurazione aggiungono una puntata (o mezza) a quelle già in gioco
+        int options = snapshot.getOptions(Model.PLAYER);
+        int exposure = puntata * snapshot.getStake(Model.PLAYER);
+        if (importo < exposure + puntata) {
+            options &= ~(Model.OPTION_DOUBLE | Model.OPTION_SPLIT);
+        }
+        if (importo < exposure + puntata / 2) {
+            options &= ~Model.OPTION_INSURANCE;
+        }
+        gameView.setOptions(options);
+        gameView.updateView(snapshot);
     }
     
     /**
      * Configura il controller di gioco
      */
     private void setupGameController() {
-        // Aggiungi il modello come Observable alla vista
-        model.addObserver((java.util.Observer) gameView);
-        
         // Configura gli ActionListener per i pulsanti della vista di gioco
         gameView.addHitButtonListener(e -> handleHitButton());
         gameView.addStayButtonListener(e -> handleStayButton());
+        gameView.addDoubleButtonListener(e -> handlePlayerAction(Model.OPTION_DOUBLE, () -> model.doubleDown(Model.PLAYER)));
+        gameView.addSplitButtonListener(e -> handlePlayerAction(Model.OPTION_SPLIT, () -> model.split(Model.PLAYER)));
+        gameView.addSurrenderButtonListener(e -> handlePlayerAction(Model.OPTION_SURRENDER, () -> model.surrender(Model.PLAYER)));
+        gameView.addInsuranceButtonListener(e -> handlePlayerAction(Model.OPTION_INSURANCE, () -> { }));
         
         // Configura l'ActionListener per il pulsante Home
-        if (gameView instanceof OnePlayer) {
-            ((OnePlayer) gameView).gamePanel.addHomeButtonListener(e -> handleHomeButton());
-        } else if (gameView instanceof TwoPlayers) {
-            ((TwoPlayers) gameView).gamePanel.addHomeButtonListener(e -> handleHomeButton());
-        } else if (gameView instanceof ThreePlayers) {
-            ((ThreePlayers) gameView).gamePanel.addHomeButtonListener(e -> handleHomeButton());
-        }
+        gameView.addHomeButtonListener(e -> handleHomeButton());
     }
     
     /**
      * Gestisce l'evento del pulsante 'Hit'
      */
     private void handleHitButton() {
-        playClickSound();
-        
-        // Pesca una carta dal mazzo
-        Model.Card card = model.drawCard();
-        model.getPlayerHand().add(card);
-        
-        // Aggiorna la somma e il conteggio degli assi
-        model.setPlayerSum(model.getPlayerSum() + card.getValue());
-        model.setPlayerAceCount(model.getPlayerAceCount() + (card.isAce() ? 1 : 0));
-        
-        // Verifica se il giocatore ha superato 21
-        if (model.reduceAce(model.getPlayerSum(), model.getPlayerAceCount()) > 21) {
-            gameView.setHitButtonEnabled(false);
-            handleStayButton();
-        }
-        
-        // Notifica gli osservatori
-        model.notifyObservers();
+        handlePlayerAction(Model.OPTION_HIT, () -> model.hit(Model.PLAYER));
     }
     
     /**
      * Gestisce l'evento del pulsante Stay
      */
     private void handleStayButton() {
+        handlePlayerAction(Model.OPTION_STAND, () -> model.stand(Model.PLAYER));
+    }
+    
+    /**
+     * Esegue un'azione del giocatore sul thread di gioco
+     * Qualsiasi azione chiude l'assicurazione (prenderla è l'azione di "Insurance"); se dopo l'azione
+     * il giocatore ha finito tutte le sue mani, il round viene concluso
+     * 
+     * @param option L'opzione dell'azione (vedi Model.getOptions)
+     * @param action L'azione sul model
+     */
+    private void handlePlayerAction(int option, Runnable action) {
         playClickSound();
         
-        // Disabilita i pulsanti
-        gameView.setHitButtonEnabled(false);
-        gameView.setStayButtonEnabled(false);
-        
-        // Turno del dealer
-        dealerTurn();
-        
-        // Turno dei bot, in base al loro numero
-        if (model.getPlayers() > 1) {
-            bot1Turn();
-        }
-        
-        if (model.getPlayers() > 2) {
-            bot2Turn();
-        }
-        
-        // Aggiorna i risultati
-        updateResults();
-        
-        // Notifica gli osservatori
-        model.notifyObservers();
+        runGameAction(() -> {
+            // Il round potrebbe essere cambiato mentre l'azione era in coda
+            if ((model.getOptions(Model.PLAYER) & option) == 0) return;
+            
+            if (option == Model.OPTION_INSURANCE) {
+                model.takeInsurance(Model.PLAYER);
+            }
+            closeInsurance();
+            
+            // Con blackjack del dealer il controllo della carta nascosta chiude il turno del giocatore
+            if ((model.getOptions(Model.PLAYER) & option) != 0) {
+                action.run();
+            }
+            if (model.isSeatDone(Model.PLAYER)) {
+                resolveRound();
+            }
+        });
     }
     
     /**
-     * Gestisce il turno del dealer
+     * Raccoglie le assicurazioni dei bot e fa controllare al dealer la carta nascosta
      */
-    private void dealerTurn() {
-        while (model.getDealerSum() < 17) {
-            Model.Card card = model.drawCard();
-            model.getDealerHand().add(card);
-            model.setDealerSum(model.getDealerSum() + card.getValue());
-            model.setDealerAceCount(model.getDealerAceCount() + (card.isAce() ? 1 : 0));
+    private void closeInsurance() {
+        if (!model.isInsuranceOffered()) return;
+        
+        int bucket = CompiledStrategy.bucket(model.getVisibleTrueCount());
+        CompiledStrategy[] strategies = getBotStrategies();
+        for (int seat = Model.BOT1; seat < model.getPlayers(); seat++) {
+            if (strategies[seat - Model.BOT1].takesInsurance(bucket)) {
+                model.takeInsurance(seat);
+            }
         }
+        model.peek();
     }
     
     /**
-     * Gestisce il turno del primo bot
+     * Conclude il round sul thread di gioco: turno dei bot, turno del dealer e risultati
      */
-    private void bot1Turn() {
-        while (model.getBot1Sum() < 17) {
-            Model.Card card = model.drawCard();
-            model.getBot1Hand().add(card);
-            model.setBot1Sum(model.getBot1Sum() + card.getValue());
-            model.setBot1AceCount(model.getBot1AceCount() + (card.isAce() ? 1 : 0));
-        }
+    private void resolveRound() {
+        closeInsurance();
+        
+        // Turno dei bot, dal secondo posto in poi
+        botTurns();
+        
+        // Turno del dealer
+        model.dealerTurn();
+        
+        // Calcola i risultati di tutti i posti
+        model.settleRound();
     }
     
     /**
-     * Gestisce il turno del secondo bot
+     * Restituisce le strategie compilate dei bot, caricandole alla prima richiesta:
+     * il primo segue la strategia di base, il secondo la corregge con il conteggio
+     * 
+     * @return Le strategie, una per bot
      */
-    private void bot2Turn() {
-        while (model.getBot2Sum() < 17) {
-            Model.Card card = model.drawCard();
-            model.getBot2Hand().add(card);
-            model.setBot2Sum(model.getBot2Sum() + card.getValue());
-            model.setBot2AceCount(model.getBot2AceCount() + (card.isAce() ? 1 : 0));
+    private CompiledStrategy[] getBotStrategies() {
+        if (botStrategies == null) {
+            BasicStrategy basic = StrategyCache.load(Rules.DEFAULT);
+            botStrategies = new CompiledStrategy[] { basic.compile(), new CountingStrategy(basic).compile() };
         }
+        return botStrategies;
     }
     
     /**
-     * Aggiorna i risultati della partita
+     * Gestisce il turno di tutti i bot
      */
-    private void updateResults() {
-        int playerFinalSum = model.reduceAce(model.getPlayerSum(), model.getPlayerAceCount());
-        int dealerFinalSum = model.reduceAce(model.getDealerSum(), model.getDealerAceCount());
-        
-        // Determina il risultato del giocatore
-        int result = determineResult(playerFinalSum, dealerFinalSum);
-        
-        // Aggiorna le statistiche
-        updateStats(result);
-        
-        // Aggiorna l'importo in base al risultato
-        updateImporto(result);
+    private void botTurns() {
+        CompiledStrategy[] strategies = getBotStrategies();
+        for (int seat = Model.BOT1; seat < model.getPlayers(); seat++) {
+            model.playSeat(seat, strategies[seat - Model.BOT1]);
+        }
     }
     
     /**
-     * Determina il risultato confrontando due somme
+     * Aggiorna i risultati della partita sull'EDT
      * 
-     * @param sum La somma del giocatore
-     * @param dealerSum La somma del dealer
-     * @return Il codice del risultato (1: vittoria, 2: sconfitta, 3: pareggio)
+     * @param result Il codice del risultato del giocatore
+     * @param net La vincita netta del giocatore in mezze puntate
      */
-    private int determineResult(int sum, int dealerSum) {
-        if (sum > 21) return 2; // Sconfitta
-        if (dealerSum > 21) return 1; // Vittoria
-        if (sum == dealerSum) return 3; // Pareggio
-        return (sum > dealerSum) ? 1 : 2; // Vittoria o sconfitta
+    private void updateResults(int result, int net) {
+        // Aggiorna le statistiche
+        updateStats(result);
+        
+        // Aggiorna l'importo in base alla vincita
+        updateImporto(net);
+        
+        // Salva il round nel profilo, senza attendere la scrittura
+        if (profileStore != null) {
+            profileStore.recordRound(result, importo);
+        }
     }
     
     /**
@@ -417,22 +559,16 @@ public class Controller {
     }
     
     /**
-     * Aggiorna l'importo in base al risultato
+     * Aggiorna l'importo in base alla vincita netta, che comprende blackjack, raddoppi, split,
+     * resa e assicurazione; le frazioni di una puntata dispari vanno al banco.
+     * La vista Bet sottrae la puntata solo dalla propria copia dell'importo, quindi qui
+     * la puntata persa va tolta e quella pareggiata resta dov'era
      * 
-     * @param result Il codice del risultato
+     * @param net La vincita netta in mezze puntate
      */
-    private void updateImporto(int result) {
-        switch (result) {
-            case 1: // Vittoria
-                importo += puntata;
-                break;
-            case 2: // Sconfitta
-                // L'importo è già stato sottratto nella vista Bet
-                break;
-            case 3: // Pareggio
-                importo += puntata; // Restituisce la puntata
-                break;
-        }
+    private void updateImporto(int net) {
+        importo += Math.floorDiv(puntata * net, 2);
+        events.bankrollChanged(importo);
     }
     
     /**
@@ -440,38 +576,10 @@ public class Controller {
      */
     private void handleHomeButton() {
         playClickSound();
-        stopGameLoop();
+        events.removeListener(gameView.getGameListener());
         showHomeView();
     }
     
-    /**
-     * Avvia il game loop
-     */
-    private void startGameLoop() {
-        if (gameLoopTimer != null) {
-            gameLoopTimer.cancel();
-        }
-        
-        gameLoopTimer = new Timer();
-        gameLoopTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                // Aggiorna il modello periodicamente
-                SwingUtilities.invokeLater( () -> { if (model != null) { model.notifyObservers();} } );
-            }
-        }, 0, 16); // Circa 60 FPS
-    }
-    
-    /**
-     * Ferma il game loop
-     */
-    private void stopGameLoop() {
-        if (gameLoopTimer != null) {
-            gameLoopTimer.cancel();
-            gameLoopTimer = null;
-        }
-    }
-    
     /**
      * Riproduce il click
      */
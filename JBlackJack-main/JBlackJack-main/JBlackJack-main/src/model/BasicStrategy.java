@@ -0,0 +1,314 @@
+package model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Strategia di base ottimale per un insieme di regole
+ * La tabella contiene un'azione per ogni stato della mano (vedi HandState) e ogni valore della carta
+ * scoperta del dealer, seguita dalla decisione di split per ogni coppia e carta scoperta.
+ * Viene calcolata massimizzando il valore atteso di ogni cella: il dealer segue la distribuzione esatta
+ * di DealerOdds, condizionata all'assenza di blackjack come dopo il peek, e le carte del giocatore sono
+ * pescate dal sabot completo meno la carta scoperta (strategia dipendente dal totale, come le tabelle
+ * pubblicate); raddoppio e resa tolgono dal sabot anche le due carte iniziali del giocatore.
+ * Il raddoppio vale su due carte anche dopo uno split, la resa costa metà puntata;
+ * il valore di uno split è il doppio di quello di una mano che parte da una carta della coppia,
+ * senza ulteriori split (gli assi ricevono una sola carta).
+ * Le colonne della tabella sono indipendenti e vengono calcolate in parallelo con fork/join
+ */
+public final class BasicStrategy implements Strategy {
+    // Celle delle azioni, indicizzate per stato * VALUES + valore della carta scoperta
+    public static final int ACTIONS = HandState.STATES * DealerOdds.VALUES;
+
+    // Numero di celle della tabella: le azioni, poi gli split (1 per dividere) per coppia * VALUES + carta scoperta
+    public static final int SIZE = ACTIONS + DealerOdds.VALUES * DealerOdds.VALUES;
+
+    // Valore atteso della resa
+    private static final double SURRENDER_VALUE = -0.5;
+
+    // Sotto questo numero di colonne un task non viene più diviso
+    private static final int SEQUENTIAL_COLUMNS = 1;
+
+    private final Rules rules;
+
+    // Azioni e split, vedi SIZE
+    private final byte[] actions;
+
+    /**
+     * Costruttore di una tabella già calcolata
+     * @param rules Le regole per cui è stata calcolata
+     * @param actions Le azioni e gli split, SIZE elementi
+     */
+    public BasicStrategy(Rules rules, byte[] actions) {
+        if (actions.length != SIZE) {
+            throw new IllegalArgumentException("Dimensione della tabella non valida: " + actions.length);
+        }
+        this.rules = rules;
+        this.actions = actions.clone();
+    }
+
+    /**
+     * Calcola la strategia con il pool comune
+     * @param rules Le regole del tavolo
+     * @return La strategia
+     */
+    public static BasicStrategy solve(Rules rules) {
+        return solve(rules, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calcola la strategia
+     * @param rules Le regole del tavolo
+     * @param pool Il pool fork/join su cui calcolare le colonne
+     * @return La strategia
+     */
+    public static BasicStrategy solve(Rules rules, ForkJoinPool pool) {
+        byte[] actions = new byte[SIZE];
+        pool.invoke(new ColumnTask(rules, actions, 0, DealerOdds.VALUES));
+        return new BasicStrategy(rules, actions);
+    }
+
+    /**
+     * Calcola la colonna di una carta scoperta
+     * Carta e stare sono valutati sul sabot meno la carta scoperta; raddoppio e resa, possibili solo
+     * sulle prime due carte, come media delle composizioni di due carte di ogni stato, togliendo
+     * dal sabot anche le carte del giocatore
+     * @param rules Le regole del tavolo
+     * @param upcard Il valore della carta scoperta (0 = asso, 9 = dieci)
+     * @param actions La tabella in cui scrivere la colonna
+     */
+    private static void solveColumn(Rules rules, int upcard, byte[] actions) {
+        int[] remaining = DealerOdds.fullShoe(rules.getDecks());
+        remaining[upcard]--;
+        int dealerCard = Cards.of(upcard, 0);
+        DealerOdds odds = new DealerOdds(rules, DealerOdds.DEFAULT_CACHE_SIZE);
+        double[] dealer = odds.outcomesAfterPeek(dealerCard, remaining, new double[DealerOdds.OUTCOMES]);
+
+        double[] stand = new double[HandState.STATES];
+        double[] hit = new double[HandState.STATES];
+        double[] doubled = new double[HandState.STATES];
+        double[] best = new double[HandState.STATES];
+        double[] first = new double[HandState.STATES];
+        evaluate(remaining, dealer, stand, hit, doubled, best, first);
+
+        // Valori delle prime due carte, pesati per la probabilità di ogni composizione
+        double[] weight = new double[HandState.STATES];
+        double[] twoStand = new double[HandState.STATES];
+        double[] twoHit = new double[HandState.STATES];
+        double[] twoDoubled = new double[HandState.STATES];
+        double[] shoeStand = new double[HandState.STATES];
+        double[] shoeHit = new double[HandState.STATES];
+        double[] shoeDoubled = new double[HandState.STATES];
+        double[] shoeBest = new double[HandState.STATES];
+        double[] shoeDealer = new double[DealerOdds.OUTCOMES];
+        int cards = count(remaining);
+        for (int a = 0; a < DealerOdds.VALUES; a++) {
+            for (int b = a; b < DealerOdds.VALUES; b++) {
+                if (a == 0 && b == DealerOdds.TEN) continue; // blackjack, pagato senza decisioni
+                double probability = (double) remaining[a] * (remaining[b] - (a == b ? 1 : 0))
+                        / ((double) cards * (cards - 1)) * (a == b ? 1 : 2);
+                if (probability <= 0) continue;
+                int state = HandState.add(HandState.add(HandState.EMPTY, Cards.of(a, 0)), Cards.of(b, 0));
+                remaining[a]--;
+                remaining[b]--;
+                odds.outcomesAfterPeek(dealerCard, remaining, shoeDealer);
+                evaluate(remaining, shoeDealer, shoeStand, shoeHit, shoeDoubled, shoeBest, null);
+                remaining[a]++;
+                remaining[b]++;
+                weight[state] += probability;
+                twoStand[state] += probability * shoeStand[state];
+                twoHit[state] += probability * shoeHit[state];
+                twoDoubled[state] += probability * shoeDoubled[state];
+            }
+        }
+
+        for (int state = HandState.BUST - 1; state >= 0; state--) {
+            // Quando raddoppio o resa non sono consentiti (dopo la seconda carta) si sceglie tra carta e stare
+            boolean hits = hit[state] > stand[state];
+            double play = best[state];
+            double doubleValue = doubled[state];
+            if (weight[state] > 0) {
+                play = Math.max(twoHit[state], twoStand[state]) / weight[state];
+                doubleValue = twoDoubled[state] / weight[state];
+            }
+            byte action;
+            if (doubleValue > play && doubleValue > SURRENDER_VALUE) {
+                action = hits ? DOUBLE : DOUBLE_OR_STAND;
+            } else if (SURRENDER_VALUE > play) {
+                action = hits ? SURRENDER : SURRENDER_OR_STAND;
+            } else {
+                action = hits ? HIT : STAND;
+            }
+            actions[state * DealerOdds.VALUES + upcard] = action;
+        }
+        actions[HandState.BUST * DealerOdds.VALUES + upcard] = STAND;
+
+        for (int pair = 0; pair < DealerOdds.VALUES; pair++) {
+            int card = Cards.of(pair, 0);
+            int one = HandState.add(HandState.EMPTY, card);
+            double hand = 0;
+            for (int value = 0; value < DealerOdds.VALUES; value++) {
+                double probability = (double) remaining[value] / cards;
+                int next = HandState.add(one, Cards.of(value, 0));
+                hand += probability * (pair == 0 ? standValue(HandState.total(next), dealer) : first[next]);
+            }
+            int state = HandState.add(one, card);
+            double keep = Math.max(first[state], SURRENDER_VALUE);
+            actions[ACTIONS + pair * DealerOdds.VALUES + upcard] = (byte) (2 * hand > keep ? 1 : 0);
+        }
+    }
+
+    /**
+     * Calcola i valori attesi di ogni stato per una composizione del sabot, dagli stati più alti ai più bassi:
+     * ogni carta aumenta il totale hard, quindi gli stati raggiungibili con una carta sono già calcolati
+     * @param remaining Il numero di carte rimaste per ogni valore
+     * @param dealer La distribuzione dei punteggi finali del dealer
+     * @param stand Il valore dello stare per ogni stato
+     * @param hit Il valore del chiedere carta e poi giocare al meglio tra carta e stare
+     * @param doubled Il valore del raddoppio
+     * @param best Il massimo tra carta e stare
+     * @param first Il massimo tra carta, stare e raddoppio, null se non serve
+     */
+    private static void evaluate(int[] remaining, double[] dealer, double[] stand, double[] hit,
+                                 double[] doubled, double[] best, double[] first) {
+        int cards = count(remaining);
+        best[HandState.BUST] = -1;
+        for (int state = HandState.BUST - 1; state >= 0; state--) {
+            double hitValue = 0;
+            double doubleValue = 0;
+            for (int value = 0; value < DealerOdds.VALUES; value++) {
+                double probability = (double) remaining[value] / cards;
+                int next = HandState.add(state, Cards.of(value, 0));
+                hitValue += probability * best[next];
+                doubleValue += probability * 2 * (HandState.isBust(next) ? -1 : standValue(HandState.total(next), dealer));
+            }
+            stand[state] = standValue(HandState.total(state), dealer);
+            hit[state] = hitValue;
+            doubled[state] = doubleValue;
+            best[state] = Math.max(hitValue, stand[state]);
+            if (first != null) {
+                first[state] = Math.max(best[state], doubleValue);
+            }
+        }
+        if (first != null) {
+            first[HandState.BUST] = -1;
+        }
+    }
+
+    /**
+     * @param remaining Il numero di carte rimaste per ogni valore
+     * @return Il numero totale di carte
+     */
+    private static int count(int[] remaining) {
+        int cards = 0;
+        for (int count : remaining) {
+            cards += count;
+        }
+        return cards;
+    }
+
+    /**
+     * Valore atteso dello stare con un totale
+     * @param total Il totale del giocatore
+     * @param dealer La distribuzione dei punteggi finali del dealer
+     * @return Il valore atteso in unità di puntata
+     */
+    private static double standValue(int total, double[] dealer) {
+        double value = dealer[DealerOdds.BUST];
+        for (int outcome = 0; outcome < DealerOdds.BUST; outcome++) {
+            int dealerTotal = Model.DEALER_STANDS_ON + outcome;
+            if (total > dealerTotal) {
+                value += dealer[outcome];
+            } else if (total < dealerTotal) {
+                value -= dealer[outcome];
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Restituisce l'azione di una cella
+     * @param state Lo stato della mano (vedi HandState)
+     * @param upcard Il valore della carta scoperta (0 = asso, 9 = dieci)
+     * @return STAND, HIT, DOUBLE, DOUBLE_OR_STAND, SURRENDER o SURRENDER_OR_STAND
+     */
+    public int action(int state, int upcard) {
+        return actions[state * DealerOdds.VALUES + upcard];
+    }
+
+    /**
+     * Restituisce la decisione di split di una coppia
+     * @param pair Il valore delle due carte (0 = assi, 9 = dieci e figure)
+     * @param upcard Il valore della carta scoperta
+     * @return true per dividere
+     */
+    public boolean split(int pair, int upcard) {
+        return actions[ACTIONS + pair * DealerOdds.VALUES + upcard] != 0;
+    }
+
+    /**
+     * La strategia di base non dipende dal conteggio
+     */
+    @Override
+    public int action(int state, int upcard, int trueCount) {
+        return action(state, upcard);
+    }
+
+    @Override
+    public boolean split(int pair, int upcard, int trueCount) {
+        return split(pair, upcard);
+    }
+
+    public Rules getRules() { return rules; }
+
+    /**
+     * @return Una copia della tabella delle azioni e degli split
+     */
+    public byte[] getActions() {
+        return actions.clone();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof BasicStrategy)) return false;
+        BasicStrategy strategy = (BasicStrategy) other;
+        return rules.equals(strategy.rules) && Arrays.equals(actions, strategy.actions);
+    }
+
+    @Override
+    public int hashCode() {
+        return rules.hashCode() * 31 + Arrays.hashCode(actions);
+    }
+
+    /**
+     * Task fork/join che calcola le colonne [from, to)
+     */
+    @SuppressWarnings("serial")
+    private static class ColumnTask extends RecursiveAction {
+        private final Rules rules;
+        private final byte[] actions;
+        private final int from;
+        private final int to;
+
+        ColumnTask(Rules rules, byte[] actions, int from, int to) {
+            this.rules = rules;
+            this.actions = actions;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_COLUMNS) {
+                for (int upcard = from; upcard < to; upcard++) {
+                    solveColumn(rules, upcard, actions);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ColumnTask(rules, actions, from, mid), new ColumnTask(rules, actions, mid, to));
+        }
+    }
+}
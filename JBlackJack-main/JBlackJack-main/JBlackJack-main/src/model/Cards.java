@@ -0,0 +1,114 @@
+package model;
+
+/**
+ * Codifica primitiva delle carte da gioco
+ * Una carta è un intero da 0 a 51 pari a rango * 4 + seme; valore, asso e immagine
+ * si ottengono da tabelle statiche precalcolate, senza stringhe né allocazioni
+ */
+public final class Cards {
+    // Numero di ranghi, semi e carte di un mazzo
+    public static final int RANKS = 13;
+    public static final int SUITS = 4;
+    public static final int DECK_SIZE = RANKS * SUITS;
+
+    // Rango dell'asso
+    public static final int ACE = 0;
+
+    // Nomi dei ranghi e dei semi, nell'ordine della codifica
+    private static final String[] RANK_NAMES = {"A", "2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K"};
+    private static final String[] SUIT_NAMES = {"C", "D", "H", "S"};
+
+    // Tabelle indicizzate per carta
+    private static final byte[] VALUES = new byte[DECK_SIZE];
+    private static final boolean[] ACES = new boolean[DECK_SIZE];
+    private static final byte[] HI_LO = new byte[DECK_SIZE];
+    private static final String[] NAMES = new String[DECK_SIZE];
+    private static final String[] IMAGE_PATHS = new String[DECK_SIZE];
+
+    static {
+        for (int card = 0; card < DECK_SIZE; card++) {
+            int rank = rank(card);
+            VALUES[card] = (byte) (rank == ACE ? 11 : Math.min(rank + 1, 10));
+            ACES[card] = rank == ACE;
+            HI_LO[card] = (byte) (VALUES[card] <= 6 ? 1 : VALUES[card] >= 10 ? -1 : 0);
+            NAMES[card] = RANK_NAMES[rank] + "-" + SUIT_NAMES[suit(card)];
+            IMAGE_PATHS[card] = "/BlackJack/resources/images/cards/" + NAMES[card] + ".png";
+        }
+    }
+
+    private Cards() {
+    }
+
+    /**
+     * Codifica una carta
+     * @param rank Il rango (0 = asso, 12 = re)
+     * @param suit Il seme (0 = fiori, 1 = quadri, 2 = cuori, 3 = picche)
+     * @return La carta codificata
+     */
+    public static int of(int rank, int suit) {
+        return rank * SUITS + suit;
+    }
+
+    /**
+     * Restituisce il rango di una carta
+     * @param card La carta codificata
+     * @return Il rango (0 = asso, 12 = re)
+     */
+    public static int rank(int card) {
+        return card >> 2;
+    }
+
+    /**
+     * Restituisce il seme di una carta
+     * @param card La carta codificata
+     * @return Il seme (0 = fiori, 1 = quadri, 2 = cuori, 3 = picche)
+     */
+    public static int suit(int card) {
+        return card & 3;
+    }
+
+    /**
+     * Restituisce il valore della carta nel blackjack (asso = 11, figure = 10)
+     * @param card La carta codificata
+     * @return Il valore della carta
+     */
+    public static int value(int card) {
+        return VALUES[card];
+    }
+
+    /**
+     * Verifica se la carta è un asso
+     * @param card La carta codificata
+     * @return true se la carta è un asso
+     */
+    public static boolean isAce(int card) {
+        return ACES[card];
+    }
+
+    /**
+     * Restituisce il valore della carta nel conteggio Hi-Lo
+     * @param card La carta codificata
+     * @return +1 per le carte da 2 a 6, 0 da 7 a 9, -1 per dieci, figure e assi
+     */
+    public static int hiLo(int card) {
+        return HI_LO[card];
+    }
+
+    /**
+     * Restituisce il nome della carta, ad esempio "10-H"
+     * @param card La carta codificata
+     * @return Il nome della carta
+     */
+    public static String name(int card) {
+        return NAMES[card];
+    }
+
+    /**
+     * Restituisce il percorso dell'immagine della carta
+     * @param card La carta codificata
+     * @return Il percorso dell'immagine
+     */
+    public static String imagePath(int card) {
+        return IMAGE_PATHS[card];
+    }
+}
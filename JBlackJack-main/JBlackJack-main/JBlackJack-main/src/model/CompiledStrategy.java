@@ -0,0 +1,140 @@
+package model;
+
+/**
+ * Strategia compilata in una tabella piatta di byte
+ * La tabella ha una cella per ogni true count (limitato a [MIN_COUNT, MAX_COUNT]), stato della mano
+ * e valore della carta scoperta: una decisione è una sola lettura dell'array. Allo stesso modo
+ * ci sono una tabella degli split per coppia e carta scoperta e una decisione di assicurazione per true count.
+ * Le mani sballate o a 21 stanno sempre, quindi un posto smette sempre di pescare
+ */
+public final class CompiledStrategy implements Strategy {
+    // Intervallo dei true count distinti dalla tabella; quelli esterni usano l'estremo più vicino
+    public static final int MIN_COUNT = -4;
+    public static final int MAX_COUNT = 4;
+    public static final int BUCKETS = MAX_COUNT - MIN_COUNT + 1;
+
+    // Indice del true count nullo
+    public static final int NEUTRAL_BUCKET = -MIN_COUNT;
+
+    // Celle per true count
+    private static final int BUCKET_SIZE = HandState.STATES * DealerOdds.VALUES;
+
+    // Celle degli split per true count
+    private static final int SPLIT_SIZE = DealerOdds.VALUES * DealerOdds.VALUES;
+
+    /**
+     * Strategia che imita il dealer, già compilata
+     */
+    public static final CompiledStrategy DEALER_MIMIC = compile(Strategy.DEALER_MIMIC);
+
+    /**
+     * Strategia che non chiede mai carta, già compilata
+     */
+    public static final CompiledStrategy ALWAYS_STAND = compile(Strategy.ALWAYS_STAND);
+
+    // Azione per ogni cella, indicizzata per (bucket * STATES + stato) * VALUES + carta scoperta
+    private final byte[] actions;
+
+    // true per dividere, indicizzato per (bucket * VALUES + coppia) * VALUES + carta scoperta
+    private final boolean[] splits;
+
+    // true per assicurarsi, indicizzato per bucket
+    private final boolean[] insurance;
+
+    private CompiledStrategy(byte[] actions, boolean[] splits, boolean[] insurance) {
+        this.actions = actions;
+        this.splits = splits;
+        this.insurance = insurance;
+    }
+
+    /**
+     * Compila una strategia interrogandola una volta per cella
+     * @param strategy La strategia
+     * @return La strategia compilata
+     */
+    public static CompiledStrategy compile(Strategy strategy) {
+        byte[] actions = new byte[BUCKETS * BUCKET_SIZE];
+        boolean[] splits = new boolean[BUCKETS * SPLIT_SIZE];
+        boolean[] insurance = new boolean[BUCKETS];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            int trueCount = bucket + MIN_COUNT;
+            for (int state = 0; state < HandState.STATES; state++) {
+                boolean done = HandState.total(state) >= 21;
+                for (int upcard = 0; upcard < DealerOdds.VALUES; upcard++) {
+                    int action = done ? STAND : strategy.action(state, upcard, trueCount);
+                    if (action < STAND || action > SURRENDER_OR_STAND) {
+                        throw new IllegalArgumentException("Azione non valida: " + action);
+                    }
+                    actions[(bucket * HandState.STATES + state) * DealerOdds.VALUES + upcard] = (byte) action;
+                }
+            }
+            for (int pair = 0; pair < DealerOdds.VALUES; pair++) {
+                for (int upcard = 0; upcard < DealerOdds.VALUES; upcard++) {
+                    splits[(bucket * DealerOdds.VALUES + pair) * DealerOdds.VALUES + upcard] = strategy.split(pair, upcard, trueCount);
+                }
+            }
+            insurance[bucket] = strategy.insurance(trueCount);
+        }
+        return new CompiledStrategy(actions, splits, insurance);
+    }
+
+    /**
+     * Restituisce l'indice di un true count nella tabella
+     * @param trueCount Il true count
+     * @return L'indice, da 0 a BUCKETS - 1
+     */
+    public static int bucket(int trueCount) {
+        return Math.max(MIN_COUNT, Math.min(MAX_COUNT, trueCount)) - MIN_COUNT;
+    }
+
+    /**
+     * Legge l'azione di una cella
+     * @param state Lo stato della mano (vedi HandState)
+     * @param upcard Il valore della carta scoperta (0 = asso, 9 = dieci e figure)
+     * @param bucket L'indice del true count (vedi bucket)
+     * @return STAND, HIT, DOUBLE, DOUBLE_OR_STAND, SURRENDER o SURRENDER_OR_STAND
+     */
+    public int decide(int state, int upcard, int bucket) {
+        return actions[(bucket * HandState.STATES + state) * DealerOdds.VALUES + upcard];
+    }
+
+    /**
+     * Legge la decisione di split di una coppia
+     * @param pair Il valore delle due carte (0 = assi, 9 = dieci e figure)
+     * @param upcard Il valore della carta scoperta
+     * @param bucket L'indice del true count (vedi bucket)
+     * @return true per dividere
+     */
+    public boolean splits(int pair, int upcard, int bucket) {
+        return splits[(bucket * DealerOdds.VALUES + pair) * DealerOdds.VALUES + upcard];
+    }
+
+    /**
+     * Legge la decisione di assicurazione
+     * @param bucket L'indice del true count (vedi bucket)
+     * @return true per assicurarsi
+     */
+    public boolean takesInsurance(int bucket) {
+        return insurance[bucket];
+    }
+
+    @Override
+    public int action(int state, int upcard, int trueCount) {
+        return decide(state, upcard, bucket(trueCount));
+    }
+
+    @Override
+    public boolean split(int pair, int upcard, int trueCount) {
+        return splits(pair, upcard, bucket(trueCount));
+    }
+
+    @Override
+    public boolean insurance(int trueCount) {
+        return takesInsurance(bucket(trueCount));
+    }
+
+    @Override
+    public CompiledStrategy compile() {
+        return this;
+    }
+}
@@ -0,0 +1,90 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Strategia di base corretta con il conteggio Hi-Lo
+ * Nelle celle più sensibili alla composizione del sabot (le deviazioni più note della
+ * letteratura sul conteggio) l'azione cambia quando il true count supera un indice;
+ * in tutte le altre celle segue la strategia di base. Le deviazioni tra stare e chiedere carta
+ * non valgono dove la strategia di base raddoppia; dove si arrende decidono cosa fare
+ * quando la resa non è consentita
+ */
+public final class CountingStrategy implements Strategy {
+    // Deviazioni: totale hard, valore della carta scoperta (0 = asso, 9 = dieci), indice.
+    // Con true count maggiore o uguale all'indice si sta, altrimenti si chiede carta
+    private static final int[][] DEVIATIONS = {
+            {16, 9, 0},
+            {15, 9, 4},
+            {16, 8, 5},
+            {12, 2, 2},
+            {12, 1, 3},
+            {12, 3, 0},
+            {12, 4, -2},
+            {12, 5, -1},
+            {13, 1, -1},
+            {13, 2, -2},
+    };
+
+    // Deviazioni sugli split: coppia, carta scoperta, indice. Con true count maggiore o uguale si divide
+    private static final int[][] SPLIT_DEVIATIONS = {
+            {9, 4, 5},
+            {9, 5, 4},
+    };
+
+    // Con true count maggiore o uguale a questo indice si prende l'assicurazione
+    private static final int INSURANCE_INDEX = 3;
+
+    // Indice di ogni cella hard, Integer.MIN_VALUE dove si segue la strategia di base
+    private final int[] indices = new int[22 * DealerOdds.VALUES];
+
+    // Indice di ogni cella degli split, Integer.MIN_VALUE dove si segue la strategia di base
+    private final int[] splitIndices = new int[DealerOdds.VALUES * DealerOdds.VALUES];
+
+    private final BasicStrategy basic;
+
+    /**
+     * Costruttore
+     * @param basic La strategia di base da correggere
+     */
+    public CountingStrategy(BasicStrategy basic) {
+        this.basic = basic;
+        Arrays.fill(indices, Integer.MIN_VALUE);
+        for (int[] deviation : DEVIATIONS) {
+            indices[deviation[0] * DealerOdds.VALUES + deviation[1]] = deviation[2];
+        }
+        Arrays.fill(splitIndices, Integer.MIN_VALUE);
+        for (int[] deviation : SPLIT_DEVIATIONS) {
+            splitIndices[deviation[0] * DealerOdds.VALUES + deviation[1]] = deviation[2];
+        }
+    }
+
+    @Override
+    public int action(int state, int upcard, int trueCount) {
+        int total = HandState.total(state);
+        int action = basic.action(state, upcard);
+        if (action != DOUBLE && action != DOUBLE_OR_STAND && !HandState.isSoft(state) && total <= 21) {
+            int index = indices[total * DealerOdds.VALUES + upcard];
+            if (index != Integer.MIN_VALUE) {
+                if (action == SURRENDER || action == SURRENDER_OR_STAND) {
+                    return trueCount >= index ? SURRENDER_OR_STAND : SURRENDER;
+                }
+                return trueCount >= index ? STAND : HIT;
+            }
+        }
+        return action;
+    }
+
+    @Override
+    public boolean split(int pair, int upcard, int trueCount) {
+        int index = splitIndices[pair * DealerOdds.VALUES + upcard];
+        return index != Integer.MIN_VALUE ? trueCount >= index : basic.split(pair, upcard);
+    }
+
+    @Override
+    public boolean insurance(int trueCount) {
+        return trueCount >= INSURANCE_INDEX;
+    }
+
+    public BasicStrategy getBasic() { return basic; }
+}
@@ -0,0 +1,249 @@
+package model;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Calcolo esatto delle probabilità del dealer
+ * Data la carta scoperta del dealer e la composizione delle carte rimaste nel sabot, restituisce la
+ * probabilità di ogni punteggio finale (da 17 a 21) e dello sballo, con il dealer che pesca secondo
+ * le Rules come in Model.dealerTurn. La carta nascosta è pescata dalla composizione come le altre.
+ * La ricorsione sulle composizioni è memorizzata in una cache LRU limitata: la chiave è la
+ * composizione in base mista (un contatore per valore) insieme allo stato della mano, in un solo long.
+ * Una istanza non è thread-safe: ogni thread usa la propria
+ */
+public final class DealerOdds {
+    // Indici degli esiti nella distribuzione: punteggi da 17 a 21, poi lo sballo
+    public static final int OUTCOMES = 6;
+    public static final int BUST = 5;
+
+    // Numero di valori delle carte: asso (indice 0), da 2 a 9, dieci e figure (indice 9)
+    public static final int VALUES = 10;
+    public static final int TEN = 9;
+
+    // Dimensione predefinita della cache
+    public static final int DEFAULT_CACHE_SIZE = 1 << 15;
+
+    // Basi della codifica: fino a 4 carte per valore per mazzo, 16 per il dieci
+    private static final int RADIX = 4 * Shoe.MAX_DECKS + 1;
+    private static final int TEN_RADIX = 16 * Shoe.MAX_DECKS + 1;
+
+    // Peso di una carta di ogni valore nella chiave, già moltiplicato per il numero di stati
+    private static final long[] WEIGHTS = new long[VALUES];
+
+    // Una carta rappresentativa per ogni valore, per le transizioni di HandState
+    private static final int[] CARDS = new int[VALUES];
+
+    static {
+        long weight = HandState.STATES;
+        WEIGHTS[TEN] = weight;
+        weight *= TEN_RADIX;
+        for (int value = TEN - 1; value >= 0; value--) {
+            WEIGHTS[value] = weight;
+            weight *= RADIX;
+        }
+        for (int value = 0; value < VALUES; value++) {
+            CARDS[value] = Cards.of(value, 0);
+        }
+    }
+
+    // Distribuzioni degli stati in cui il dealer si ferma, null per gli altri; mai modificate
+    private final double[][] finals = new double[HandState.STATES][];
+
+    // Distribuzioni già calcolate, in ordine di accesso
+    private final Map<Long, double[]> cache;
+
+    // Composizione corrente durante la ricorsione
+    private final int[] counts = new int[VALUES];
+
+    /**
+     * Costruttore con le regole predefinite e la cache di dimensione predefinita
+     */
+    public DealerOdds() {
+        this(Rules.DEFAULT, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Costruttore con le regole predefinite
+     * @param cacheSize Il numero massimo di distribuzioni memorizzate
+     */
+    public DealerOdds(int cacheSize) {
+        this(Rules.DEFAULT, cacheSize);
+    }
+
+    /**
+     * Costruttore
+     * @param rules Le regole che decidono quando il dealer si ferma
+     * @param cacheSize Il numero massimo di distribuzioni memorizzate
+     */
+    public DealerOdds(Rules rules, int cacheSize) {
+        for (int state = 0; state < HandState.STATES; state++) {
+            if (state != HandState.EMPTY && !rules.dealerHits(state)) {
+                int total = HandState.total(state);
+                finals[state] = new double[OUTCOMES];
+                finals[state][HandState.isBust(state) ? BUST : total - Model.DEALER_STANDS_ON] = 1;
+            }
+        }
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("Dimensione della cache non valida: " + cacheSize);
+        }
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, double[]> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Restituisce l'indice del valore di una carta
+     * @param card La carta codificata
+     * @return L'indice del valore (0 = asso, 9 = dieci e figure)
+     */
+    public static int valueIndex(int card) {
+        return Math.min(Cards.rank(card), TEN);
+    }
+
+    /**
+     * Restituisce la composizione di un sabot completo
+     * @param decks Il numero di mazzi
+     * @return Il numero di carte per ogni valore
+     */
+    public static int[] fullShoe(int decks) {
+        int[] counts = new int[VALUES];
+        for (int value = 0; value < VALUES; value++) {
+            counts[value] = (value == TEN ? 16 : 4) * decks;
+        }
+        return counts;
+    }
+
+    /**
+     * Calcola la distribuzione dei punteggi finali del dealer
+     * @param upcard La carta scoperta del dealer
+     * @param remaining Il numero di carte rimaste per ogni valore, senza la carta scoperta
+     * @param outcomes L'array di OUTCOMES elementi in cui scrivere le probabilità
+     * @return Lo stesso array outcomes
+     */
+    public double[] outcomes(int upcard, int[] remaining, double[] outcomes) {
+        long key = load(remaining);
+        int state = HandState.add(HandState.EMPTY, upcard);
+        System.arraycopy(distribution(key, state, cards()), 0, outcomes, 0, OUTCOMES);
+        return outcomes;
+    }
+
+    /**
+     * Calcola la distribuzione dei punteggi finali del dealer sapendo che non ha blackjack,
+     * come vede il giocatore dopo il controllo della carta nascosta con un asso o un dieci scoperto
+     * @param upcard La carta scoperta del dealer
+     * @param remaining Il numero di carte rimaste per ogni valore, senza la carta scoperta
+     * @param outcomes L'array di OUTCOMES elementi in cui scrivere le probabilità
+     * @return Lo stesso array outcomes
+     */
+    public double[] outcomesAfterPeek(int upcard, int[] remaining, double[] outcomes) {
+        int up = valueIndex(upcard);
+        int blackjack = up == 0 ? TEN : up == TEN ? 0 : -1;
+        if (blackjack < 0 || remaining[blackjack] == 0) {
+            return outcomes(upcard, remaining, outcomes);
+        }
+        long key = load(remaining);
+        int total = cards();
+        int allowed = total - counts[blackjack];
+        if (allowed == 0) {
+            throw new IllegalArgumentException("Composizione non valida: il dealer ha sempre blackjack");
+        }
+        int state = HandState.add(HandState.EMPTY, upcard);
+        Arrays.fill(outcomes, 0);
+        // La carta nascosta è una qualsiasi tranne quella che completerebbe il blackjack
+        for (int value = 0; value < VALUES; value++) {
+            int count = counts[value];
+            if (value == blackjack || count == 0) continue;
+            double probability = (double) count / allowed;
+            counts[value] = count - 1;
+            double[] next = distribution(key - WEIGHTS[value], HandState.add(state, CARDS[value]), total - 1);
+            counts[value] = count;
+            for (int outcome = 0; outcome < OUTCOMES; outcome++) {
+                outcomes[outcome] += probability * next[outcome];
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Carica una composizione nei contatori della ricorsione
+     * @param remaining Il numero di carte per ogni valore
+     * @return La composizione codificata, senza lo stato
+     */
+    private long load(int[] remaining) {
+        long key = 0;
+        for (int value = 0; value < VALUES; value++) {
+            int count = remaining[value];
+            if (count < 0 || count >= (value == TEN ? TEN_RADIX : RADIX)) {
+                throw new IllegalArgumentException("Composizione non valida: " + count + " carte di valore " + (value + 1));
+            }
+            counts[value] = count;
+            key += count * WEIGHTS[value];
+        }
+        return key;
+    }
+
+    /**
+     * @return Il numero di carte nella composizione caricata
+     */
+    private int cards() {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Calcola la probabilità che il dealer sballi
+     * @param upcard La carta scoperta del dealer
+     * @param remaining Il numero di carte rimaste per ogni valore, senza la carta scoperta
+     * @return La probabilità di sballo
+     */
+    public double bustProbability(int upcard, int[] remaining) {
+        return outcomes(upcard, remaining, new double[OUTCOMES])[BUST];
+    }
+
+    /**
+     * Distribuzione dei punteggi finali a partire da uno stato, pescando dalla composizione corrente
+     * Se le carte finiscono prima che il dealer si fermi, la probabilità di quel ramo va persa
+     * @param key La composizione codificata, senza lo stato
+     * @param state Lo stato della mano del dealer
+     * @param total Il numero di carte nella composizione
+     * @return La distribuzione, da non modificare
+     */
+    private double[] distribution(long key, int state, int total) {
+        double[] result = finals[state];
+        if (result != null) return result;
+
+        Long cacheKey = key + state;
+        result = cache.get(cacheKey);
+        if (result != null) return result;
+
+        result = new double[OUTCOMES];
+        for (int value = 0; value < VALUES; value++) {
+            int count = counts[value];
+            if (count == 0) continue;
+            double probability = (double) count / total;
+            counts[value] = count - 1;
+            double[] next = distribution(key - WEIGHTS[value], HandState.add(state, CARDS[value]), total - 1);
+            counts[value] = count;
+            for (int outcome = 0; outcome < OUTCOMES; outcome++) {
+                result[outcome] += probability * next[outcome];
+            }
+        }
+        cache.put(cacheKey, result);
+        return result;
+    }
+
+    /**
+     * @return Il numero di distribuzioni nella cache
+     */
+    public int cacheSize() {
+        return cache.size();
+    }
+}
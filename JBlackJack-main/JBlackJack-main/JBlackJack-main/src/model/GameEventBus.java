@@ -0,0 +1,96 @@
+package model;
+
+/**
+ * Distribuisce gli eventi di gioco a tutti gli ascoltatori registrati
+ * Gli ascoltatori sono tenuti in un array copiato solo a ogni registrazione: la notifica
+ * scorre l'array senza lock, iteratori né allocazioni
+ */
+public final class GameEventBus implements GameListener {
+    // Ascoltatori registrati; l'array non viene mai modificato, solo sostituito
+    private volatile GameListener[] listeners = new GameListener[0];
+
+    /**
+     * Registra un ascoltatore
+     * @param listener L'ascoltatore da aggiungere
+     */
+    public synchronized void addListener(GameListener listener) {
+        GameListener[] current = listeners;
+        GameListener[] next = new GameListener[current.length + 1];
+        System.arraycopy(current, 0, next, 0, current.length);
+        next[current.length] = listener;
+        listeners = next;
+    }
+
+    /**
+     * Rimuove un ascoltatore
+     * @param listener L'ascoltatore da rimuovere
+     */
+    public synchronized void removeListener(GameListener listener) {
+        GameListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                GameListener[] next = new GameListener[current.length - 1];
+                System.arraycopy(current, 0, next, 0, i);
+                System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+                listeners = next;
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void cardDealt(int hand, int index, int card) {
+        for (GameListener listener : listeners) {
+            listener.cardDealt(hand, index, card);
+        }
+    }
+
+    @Override
+    public void handSplit(int hand, int newHand) {
+        for (GameListener listener : listeners) {
+            listener.handSplit(hand, newHand);
+        }
+    }
+
+    @Override
+    public void handBusted(int hand, int total) {
+        for (GameListener listener : listeners) {
+            listener.handBusted(hand, total);
+        }
+    }
+
+    @Override
+    public void turnChanged(int seat, int hand) {
+        for (GameListener listener : listeners) {
+            listener.turnChanged(seat, hand);
+        }
+    }
+
+    @Override
+    public void insuranceClosed(boolean dealerBlackjack) {
+        for (GameListener listener : listeners) {
+            listener.insuranceClosed(dealerBlackjack);
+        }
+    }
+
+    @Override
+    public void dealerRevealed(int holeCard) {
+        for (GameListener listener : listeners) {
+            listener.dealerRevealed(holeCard);
+        }
+    }
+
+    @Override
+    public void roundSettled(int dealerTotal) {
+        for (GameListener listener : listeners) {
+            listener.roundSettled(dealerTotal);
+        }
+    }
+
+    @Override
+    public void bankrollChanged(int bankroll) {
+        for (GameListener listener : listeners) {
+            listener.bankrollChanged(bankroll);
+        }
+    }
+}
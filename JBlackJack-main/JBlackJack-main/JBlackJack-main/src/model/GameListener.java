@@ -0,0 +1,71 @@
+package model;
+
+/**
+ * Ascoltatore degli eventi di gioco
+ * Ogni evento ha un metodo dedicato con parametri primitivi, così la notifica non crea oggetti.
+ * I metodi vengono chiamati sul thread che produce l'evento (il thread di gioco per il Model)
+ * e hanno un'implementazione vuota, quindi basta ridefinire quelli che interessano
+ */
+public interface GameListener {
+
+    /**
+     * Una carta è stata distribuita a una mano
+     * @param hand L'indice della mano (vedi Table.hand), oppure Table.DEALER
+     * @param index La posizione della carta nella mano
+     * @param card La carta codificata (vedi Cards)
+     */
+    default void cardDealt(int hand, int index, int card) {
+    }
+
+    /**
+     * Una mano è stata divisa: la sua seconda carta è passata alla nuova mano del posto
+     * @param hand L'indice della mano divisa (vedi Table.hand)
+     * @param newHand L'indice della nuova mano
+     */
+    default void handSplit(int hand, int newHand) {
+    }
+
+    /**
+     * Una mano ha superato 21
+     * @param hand L'indice della mano (vedi Table.hand), oppure Table.DEALER
+     * @param total Il punteggio della mano
+     */
+    default void handBusted(int hand, int total) {
+    }
+
+    /**
+     * La mano in gioco di un posto è cambiata (dopo stare, raddoppio, split, resa o sballo)
+     * @param seat L'indice del posto
+     * @param hand La mano del posto ora in gioco, uguale al numero di mani quando il posto ha finito
+     */
+    default void turnChanged(int seat, int hand) {
+    }
+
+    /**
+     * Il dealer ha controllato la carta nascosta e l'assicurazione non è più disponibile
+     * @param dealerBlackjack true se il dealer ha blackjack e il round termina subito
+     */
+    default void insuranceClosed(boolean dealerBlackjack) {
+    }
+
+    /**
+     * Il dealer ha scoperto la carta nascosta e inizia il suo turno
+     * @param holeCard La carta nascosta codificata (vedi Cards)
+     */
+    default void dealerRevealed(int holeCard) {
+    }
+
+    /**
+     * Il round è concluso e i risultati sono disponibili (Model.getResult)
+     * @param dealerTotal Il punteggio finale del dealer
+     */
+    default void roundSettled(int dealerTotal) {
+    }
+
+    /**
+     * L'importo del giocatore è cambiato
+     * @param bankroll Il nuovo importo
+     */
+    default void bankrollChanged(int bankroll) {
+    }
+}
@@ -0,0 +1,87 @@
+package model;
+
+/**
+ * Stato incrementale di una mano codificato in un piccolo intero
+ * Lo stato vale (totale hard << 1) | asso, dove il totale hard conta gli assi come 1;
+ * ogni totale hard oltre 21 collassa nello stato BUST.
+ * Aggiungere una carta e leggere il punteggio migliore sono singole letture di tabelle precalcolate
+ */
+public final class HandState {
+    // Mano vuota
+    public static final int EMPTY = 0;
+
+    // Mano sballata (stato assorbente)
+    public static final int BUST = 22 << 1;
+
+    // Numero di stati
+    public static final int STATES = BUST + 1;
+
+    // Punteggio restituito per una mano sballata
+    public static final int BUST_TOTAL = 22;
+
+    // Transizioni indicizzate per (stato << 6) | carta: una riga di 64 byte per stato,
+    // così l'aggiunta di una carta è uno shift, un or e una lettura
+    private static final int ROW_SHIFT = 6;
+    private static final byte[] NEXT = new byte[STATES << ROW_SHIFT];
+
+    // Punteggio migliore e flag soft di ogni stato
+    private static final byte[] TOTALS = new byte[STATES];
+    private static final boolean[] SOFT = new boolean[STATES];
+
+    static {
+        for (int state = 0; state < STATES; state++) {
+            int hard = state >> 1;
+            boolean ace = (state & 1) != 0;
+            boolean bust = state == BUST;
+            boolean soft = !bust && ace && hard + 10 <= 21;
+            TOTALS[state] = (byte) (bust ? BUST_TOTAL : soft ? hard + 10 : hard);
+            SOFT[state] = soft;
+            for (int card = 0; card < Cards.DECK_SIZE; card++) {
+                int rank = Cards.rank(card);
+                int nextHard = hard + (rank == Cards.ACE ? 1 : Math.min(rank + 1, 10));
+                int next = bust || nextHard > 21 ? BUST : (nextHard << 1) | (ace || rank == Cards.ACE ? 1 : 0);
+                NEXT[(state << ROW_SHIFT) | card] = (byte) next;
+            }
+        }
+    }
+
+    private HandState() {
+    }
+
+    /**
+     * Aggiunge una carta alla mano
+     * @param state Lo stato attuale della mano
+     * @param card La carta codificata (vedi Cards)
+     * @return Il nuovo stato
+     */
+    public static int add(int state, int card) {
+        return NEXT[(state << ROW_SHIFT) | card];
+    }
+
+    /**
+     * Restituisce il punteggio migliore della mano (un asso vale 11 se non si sballa)
+     * @param state Lo stato della mano
+     * @return Il punteggio, oppure BUST_TOTAL se la mano è sballata
+     */
+    public static int total(int state) {
+        return TOTALS[state];
+    }
+
+    /**
+     * Indica se la mano è soft, cioè se un asso vale ancora 11
+     * @param state Lo stato della mano
+     * @return true se la mano è soft
+     */
+    public static boolean isSoft(int state) {
+        return SOFT[state];
+    }
+
+    /**
+     * Indica se la mano è sballata
+     * @param state Lo stato della mano
+     * @return true se il punteggio supera 21
+     */
+    public static boolean isBust(int state) {
+        return state == BUST;
+    }
+}
@@ -1,229 +1,725 @@
 package model;
 
-import java.util.ArrayList;
-
-import java.util.List;
-import java.util.Observable;
+import java.util.Arrays;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Model del progetto
  * Gestisce la logica del gioco, il mazzo, le mani dei giocatori e i punteggi di essi
  */
-public class Model extends Observable{
-	// Il mazzo di carte
-    private List<Card> deck;
-    
-    // Oggetto per generare numeri casuali, utilizzato per mescolare le carte nel mazzo
-    private Random random;
+public class Model {
+    // Codici dei risultati di una mano
+    public static final int WIN = 1;
+    public static final int LOSS = 2;
+    public static final int PUSH = 3;
+
+    // Azioni disponibili per la mano in gioco di un posto (vedi getOptions)
+    public static final int OPTION_HIT = 1;
+    public static final int OPTION_STAND = 2;
+    public static final int OPTION_DOUBLE = 4;
+    public static final int OPTION_SPLIT = 8;
+    public static final int OPTION_SURRENDER = 16;
+    public static final int OPTION_INSURANCE = 32;
+
+    // Indici dei posti al tavolo: il giocatore è sempre il primo, i bot seguono
+    public static final int PLAYER = 0;
+    public static final int BOT1 = 1;
+    public static final int BOT2 = 2;
+
+    // Il dealer si ferma quando raggiunge questo punteggio
+    public static final int DEALER_STANDS_ON = 17;
+
+    // Punti di un mazzo con l'asso contato 1: 4 * (1 + 2 + ... + 9) + 16 * 10
+    private static final int DECK_POINTS = 340;
+
+    // Punti massimi di una mano con l'asso contato 1: si pesca solo sotto 21, quindi al più 20 + 10
+    private static final int MAX_HAND_POINTS = 30;
+
+	// Il sabot da cui vengono distribuite le carte, persistente tra i round
+    private final Shoe shoe;
+
+    // Il tavolo con le mani del dealer e di tutti i posti
+    private final Table table;
+
+    // Numero di giocatori (giocatore + bot)
+    private final int players;
+
+    // Indica se il dealer ha giocato il suo turno e la carta nascosta è stata rivelata
+    private boolean dealerRevealed;
+
+    // Indica se il round è concluso e i risultati sono stati calcolati
+    private boolean settled;
+
+    // Indica se il dealer ha già controllato la carta nascosta (peek) in questo round
+    private boolean peeked;
 
-    // Carta nascosta del dealer
-    private Card hiddenCard;
+    // true finché il dealer mostra un asso e non ha ancora controllato la carta nascosta
+    private boolean insuranceOffered;
 
-    // Le mani di ogni giocatore
-    private List<Card> dealerHand;
-    private List<Card> playerHand;
-    private List<Card> bot1Hand;
-    private List<Card> bot2Hand;
+    // true se il dealer ha blackjack, valido dopo il peek
+    private boolean dealerBlackjack;
 
-    // I punteggi totali dei giocatori (la somma dei valori delle loro carte)
-    private int dealerSum;
-    private int playerSum;
-    private int bot1Sum;
-    private int bot2Sum;
+    // Mano in gioco di ogni posto, uguale al numero di mani del posto quando ha finito
+    private final int[] activeHands = new int[Table.MAX_SEATS];
 
-    // Il conteggio degli assi nelle mani di ciascun giocatore
-    private int dealerAceCount;
-    private int playerAceCount;
-    private int bot1AceCount;
-    private int bot2AceCount;
+    // Posti che hanno preso l'assicurazione
+    private final boolean[] insured = new boolean[Table.MAX_SEATS];
 
-    // Numero di giocatori (giocatore + bot + mazziere)
-    private int players;
+    // Risultato di ogni posto, valido quando settled è true
+    private final int[] results = new int[Table.MAX_SEATS];
+
+    // Vincita netta di ogni posto in mezze puntate, valida quando settled è true
+    private final int[] nets = new int[Table.MAX_SEATS];
+
+    // Risultato di ogni mano (vedi Table.hand), valido quando settled è true
+    private final int[] handResults = new int[Table.HAND_SLOTS];
+
+    // Numero del round corrente, incrementato a ogni distribuzione
+    private long round;
+
+    // Contatore delle modifiche del round che non passano dal tavolo (turni, assicurazione, dealer)
+    private long changes;
+
+    // Ultima fotografia pubblicata: l'unico stato del model letto da altri thread
+    private volatile RoundSnapshot snapshot;
+
+    // Stato del tavolo e del round quando è stata creata l'ultima fotografia
+    private long snapshotVersion = -1;
+
+    // Gli ascoltatori degli eventi di gioco
+    private final GameEventBus events;
+
+    // Le regole del tavolo
+    private final Rules rules;
 
     /**
      * Costruttore del modello
      * @param players Il numero di giocatori nella partita
      */
     public Model(int players) {
+        this(players, new Random());
+    }
+
+    /**
+     * Costruttore del modello con un generatore casuale dedicato
+     * Permette a ogni thread di simulazione di usare un proprio flusso indipendente e riproducibile.
+     * Il sabot ha i mazzi di Rules.DEFAULT, come il gioco
+     * @param players Il numero di giocatori nella partita
+     * @param random Il generatore di numeri casuali usato per mescolare il sabot
+     */
+    public Model(int players, RandomGenerator random) {
+        this(players, new Shoe(Rules.DEFAULT.getDecks(), random));
+    }
+
+    /**
+     * Costruttore del modello con un sabot condiviso tra più partite
+     * @param players Il numero di giocatori nella partita
+     * @param shoe Il sabot da cui distribuire le carte
+     */
+    public Model(int players, Shoe shoe) {
+        this(players, shoe, new GameEventBus());
+    }
+
+    /**
+     * Costruttore del modello con un sabot e un bus di eventi condivisi tra più partite
+     * @param players Il numero di giocatori nella partita
+     * @param shoe Il sabot da cui distribuire le carte
+     * @param events Il bus a cui inviare gli eventi di gioco
+     */
+    public Model(int players, Shoe shoe, GameEventBus events) {
+        this(players, shoe, events, Rules.DEFAULT);
+    }
+
+    /**
+     * Costruttore del modello con regole dedicate
+     * @param players Il numero di giocatori nella partita
+     * @param shoe Il sabot da cui distribuire le carte
+     * @param events Il bus a cui inviare gli eventi di gioco
+     * @param rules Le regole del tavolo (comportamento del dealer)
+     * @throws IllegalArgumentException se il sabot è troppo piccolo per il numero di giocatori (vedi maxSeats)
+     */
+    public Model(int players, Shoe shoe, GameEventBus events, Rules rules) {
+        int maxSeats = maxSeats(shoe.getDecks());
+        if (players > maxSeats) {
+            throw new IllegalArgumentException("Troppi posti per il sabot: " + players + ", al più " + maxSeats
+                    + (shoe.getDecks() == 1 ? " con un mazzo" : " con " + shoe.getDecks() + " mazzi"));
+        }
         this.players = players;
-        random = new Random();
+        this.shoe = shoe;
+        this.table = new Table(players);
+        this.events = events;
+        this.rules = rules;
+    }
+
+    /**
+     * Restituisce il numero massimo di posti che un sabot può servire senza esaurirsi durante un round
+     * Ogni mano smette di pescare a 21 o più, quindi con gli assi contati 1 non supera MAX_HAND_POINTS:
+     * se i punti del sabot superano quelli di tutte le mani possibili (Table.MAX_HANDS per posto e quella
+     * del dealer), non tutte le carte possono essere sul tavolo e a metà round resta sempre qualche
+     * scarto da rimescolare (vedi Shoe.draw)
+     * @param decks Il numero di mazzi del sabot
+     * @return Il numero di posti, al più Table.MAX_SEATS
+     */
+    public static int maxSeats(int decks) {
+        int hands = (decks * DECK_POINTS - 1) / MAX_HAND_POINTS;
+        return Math.min(Table.MAX_SEATS, (hands - 1) / Table.MAX_HANDS);
+    }
+
+    /**
+     * Pubblica una fotografia immutabile del round, leggibile da altri thread con getSnapshot()
+     * Se il tavolo non è cambiato restituisce l'ultima fotografia; altrimenti ne crea una nuova
+     * che condivide con la precedente le mani rimaste invariate
+     * Va chiamato dal thread che gioca il round
+     * @return La fotografia del round
+     */
+    public RoundSnapshot snapshot() {
+        // Entrambi i contatori crescono soltanto, quindi la somma cambia a ogni modifica
+        long version = table.getVersion() + changes;
+        if (snapshot != null && version == snapshotVersion) {
+            return snapshot;
+        }
+        snapshotVersion = version;
+        RoundSnapshot next = new RoundSnapshot(snapshot, this);
+        snapshot = next;
+        return next;
     }
 
     /**
-     * Notifica gli osservatori di un cambiamento nel modello
+     * Restituisce l'ultima fotografia pubblicata; può essere chiamato da qualsiasi thread
+     * @return La fotografia, null se non ne è ancora stata pubblicata nessuna
      */
-    @Override
-    public void notifyObservers(){
-        super.setChanged();
-        super.notifyObservers();
+    public RoundSnapshot getSnapshot() {
+        return snapshot;
     }
 
     /**
      * Inizia una nuova partita
-     * Crea e mischia il mazzo, distribuisce le carte iniziali
+     * Rimescola il sabot se è stata raggiunta la carta di taglio, distribuisce le carte iniziali.
+     * Con un asso scoperto il dealer offre l'assicurazione e controlla la carta nascosta solo con peek();
+     * altrimenti la controlla subito
      */
     public void startNewGame() {
-    	// Costruisce il mazzo di carte
-        buildDeck();
-        
-        // Mischia il mazzo
-        shuffleDeck();
-
-        if (players > 0) {
-        	// Inizializza le mani del dealer e del giocatore come liste vuote
-            dealerHand = new ArrayList<>();
-            playerHand = new ArrayList<>();
-
-            // Inizializza i punteggi e il conteggio degli assi sia per il dealer che per il giocatore
-            dealerSum = playerSum = dealerAceCount = playerAceCount = 0;
-
-            // Pesca la carta nascosta per il dealer
-            hiddenCard = drawCard();
-            // Aggiunge il valore della carta nascosta al punteggio del dealer
-            dealerSum += hiddenCard.getValue();
-            // Incrementa il conteggio degli assi del dealer se la carta è un asso
-            dealerAceCount += hiddenCard.isAce() ? 1 : 0;
-
-            // Pesca una seconda carta per il dealer e aggiorna il punteggio e il conteggio degli assi
-            dealerHand.add(drawCard());
-            dealerSum += dealerHand.get(0).getValue();
-            dealerAceCount += dealerHand.get(0).isAce() ? 1 : 0;
-
-         // Distribuisce 2 carte al giocatore, aggiornando il punteggio e il conteggio degli assi
-        for (int i = 0; i < 2; i++) {
-            Model.Card card = drawCard();
-            playerSum += card.getValue();
-            playerAceCount += card.isAce() ? 1 : 0;
-            playerHand.add(card);
-        }
-    }
-
-    if (players > 1) {
-        // Inizializza la mano del primo bot come una lista vuota
-        bot1Hand = new ArrayList<>();
-        // Inizializza il punteggio e il conteggio degli assi per il bot1
-        bot1Sum = bot1AceCount = 0;
-
-        // Distribuisce 2 carte al primo bot, aggiornando il punteggio e il conteggio degli assi
-        for (int i = 0; i < 2; i++) {
-            Model.Card card = drawCard();
-            bot1Sum += card.getValue();
-            bot1AceCount += card.isAce() ? 1 : 0;
-            bot1Hand.add(card);
+    	// Rimescola solo quando si raggiunge la carta di taglio; le carte del round restano fuori dal sabot
+        shoe.beginRound();
+
+        table.clear();
+        round++;
+        changes++;
+        dealerRevealed = false;
+        settled = false;
+        peeked = false;
+        dealerBlackjack = false;
+        Arrays.fill(activeHands, 0);
+        Arrays.fill(insured, false);
+        Arrays.fill(results, 0);
+        Arrays.fill(nets, 0);
+        Arrays.fill(handResults, 0);
+
+        // Carta nascosta e carta scoperta del dealer
+        deal(Table.DEALER);
+        deal(Table.DEALER);
+
+        // Due carte a ogni posto, nell'ordine dei posti
+        for (int seat = 0; seat < players; seat++) {
+            deal(seat);
+            deal(seat);
+        }
+
+        insuranceOffered = DealerOdds.valueIndex(table.card(Table.DEALER, 1)) == 0;
+        if (!insuranceOffered) {
+            peek();
         }
     }
-    
-    // Verifica se ci sono più di 2 giocatori (ad esempio un altro bot)
-    if (players > 2) {
-        // Inizializza la mano del secondo bot come una lista vuota
-        bot2Hand = new ArrayList<>();
-        // Inizializza il punteggio e il conteggio degli assi per il bot2
-        bot2Sum = bot2AceCount = 0;
 
-        // Distribuisce 2 carte al secondo bot, aggiornando il punteggio e il conteggio degli assi
-        for (int i = 0; i < 2; i++) {
-            Model.Card card = drawCard();
-            bot2Sum += card.getValue();
-            bot2AceCount += card.isAce() ? 1 : 0;
-            bot2Hand.add(card);
+    /**
+     * Il dealer controlla la carta nascosta e chiude l'assicurazione
+     * Con blackjack del dealer la carta nascosta viene scoperta e tutti i posti hanno finito;
+     * altrimenti hanno finito solo i posti con blackjack. Le azioni dei posti lo chiamano da sole,
+     * quindi va chiamato esplicitamente solo dopo aver raccolto le assicurazioni
+     * @return true se il dealer ha blackjack
+     */
+    public boolean peek() {
+        if (peeked) {
+            return dealerBlackjack;
+        }
+        peeked = true;
+        changes++;
+        boolean offered = insuranceOffered;
+        insuranceOffered = false;
+        dealerBlackjack = isNatural(Table.DEALER);
+        if (dealerBlackjack) {
+            dealerRevealed = true;
+            events.dealerRevealed(table.card(Table.DEALER, 0));
         }
+        for (int seat = 0; seat < players; seat++) {
+            if (dealerBlackjack || isNatural(seat)) {
+                activeHands[seat] = table.handCount(seat);
+                events.turnChanged(seat, activeHands[seat]);
+            }
+        }
+        if (offered) {
+            events.insuranceClosed(dealerBlackjack);
+        }
+        return dealerBlackjack;
     }
-}
 
-// Metodo per costruire il mazzo di carte
-private void buildDeck() {
-    deck = new ArrayList<>();
-    String[] types = {"C", "D", "H", "S"};
-    String[] values = {"A", "2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K"};
-    
-    for (String type : types) {
-        for (String value : values) {
-            deck.add(new Card(value, type));
+    /**
+     * Un posto prende l'assicurazione (o l'even money, se ha blackjack): metà della puntata,
+     * pagata 2 a 1 se il dealer ha blackjack
+     * @param seat L'indice del posto
+     */
+    public void takeInsurance(int seat) {
+        if (!insuranceOffered || insured[seat]) {
+            throw new IllegalStateException("Assicurazione non disponibile: " + seat);
         }
+        insured[seat] = true;
+        changes++;
+    }
+
+    /**
+     * Indica se una mano è un blackjack: le due carte iniziali, non ottenute da uno split, con totale 21
+     * @param hand L'indice della mano (vedi Table.hand), oppure Table.DEALER
+     * @return true se la mano è un blackjack
+     */
+    public boolean isNatural(int hand) {
+        return table.cardCount(hand) == 2 && HandState.total(table.state(hand)) == 21
+                && (table.flags(hand) & Table.SPLIT) == 0;
+    }
+
+    /**
+     * Indica se una mano non può più ricevere azioni: 21 o sballata, raddoppiata, abbandonata
+     * o nata dallo split di due assi (che ricevono una sola carta)
+     * @param hand L'indice della mano
+     * @return true se la mano ha finito
+     */
+    private boolean isHandFinished(int hand) {
+        int flags = table.flags(hand);
+        return HandState.total(table.state(hand)) >= 21
+                || (flags & (Table.DOUBLED | Table.SURRENDERED)) != 0
+                || ((flags & Table.SPLIT) != 0 && Cards.isAce(table.card(hand, 0)) && table.cardCount(hand) >= 2);
+    }
+
+    /**
+     * Passa alla prossima mano del posto che può ancora giocare
+     * Una mano nata da uno split riceve la seconda carta solo quando arriva il suo turno
+     * @param seat L'indice del posto
+     */
+    private void advance(int seat) {
+        int k = activeHands[seat] + 1;
+        for (; k < table.handCount(seat); k++) {
+            int hand = Table.hand(seat, k);
+            if (table.cardCount(hand) == 1) {
+                deal(hand);
+            }
+            if (!isHandFinished(hand)) {
+                break;
+            }
+        }
+        activeHands[seat] = k;
+        changes++;
+        events.turnChanged(seat, k);
     }
-}
 
     /**
-     * Mischia il mazzo di carte
+     * Restituisce la mano in gioco di un posto, dopo aver fatto controllare la carta nascosta
+     * @param seat L'indice del posto
+     * @return L'indice della mano (vedi Table.hand)
      */
-    private void shuffleDeck() {
-        for (int i = 0; i < deck.size(); i++) {
-            int j = random.nextInt(deck.size());
-            Card temp = deck.get(i);
-            deck.set(i, deck.get(j));
-            deck.set(j, temp);
+    private int turn(int seat) {
+        peek();
+        if (isSeatDone(seat)) {
+            throw new IllegalStateException("Il posto ha già finito: " + seat);
         }
+        return Table.hand(seat, activeHands[seat]);
     }
 
     /**
-     * Pesca una carta dal mazzo
+     * Restituisce le azioni disponibili per la mano in gioco di un posto
+     * Finché l'assicurazione è aperta un posto con blackjack può solo prenderla (even money) o stare
+     * @param seat L'indice del posto
+     * @return Una combinazione delle costanti OPTION_*, 0 se il posto ha finito
+     */
+    public int getOptions(int seat) {
+        if (settled || isSeatDone(seat)) {
+            return 0;
+        }
+        int options = insuranceOffered && !insured[seat] ? OPTION_INSURANCE : 0;
+        int hand = Table.hand(seat, activeHands[seat]);
+        if (!peeked && isNatural(hand)) {
+            return options | OPTION_STAND;
+        }
+        options |= OPTION_HIT | OPTION_STAND;
+        if (table.cardCount(hand) == 2) {
+            options |= OPTION_DOUBLE;
+            if (table.handCount(seat) < Table.MAX_HANDS
+                    && DealerOdds.valueIndex(table.card(hand, 0)) == DealerOdds.valueIndex(table.card(hand, 1))) {
+                options |= OPTION_SPLIT;
+            }
+            // Resa tardiva: solo come prima decisione, dopo il controllo della carta nascosta
+            if (table.handCount(seat) == 1) {
+                options |= OPTION_SURRENDER;
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Distribuisce una carta dal sabot a una mano e invia gli eventi corrispondenti
+     * @param hand L'indice della mano (vedi Table.hand), oppure Table.DEALER
+     * @return La carta codificata
+     */
+    private int deal(int hand) {
+        int card = shoe.draw();
+        table.deal(hand, card);
+        events.cardDealt(hand, table.cardCount(hand) - 1, card);
+        int state = table.state(hand);
+        if (HandState.isBust(state)) {
+            events.handBusted(hand, HandState.total(state));
+        }
+        return card;
+    }
+
+    /**
+     * Pesca una carta dal sabot
      * @return La carta pescata
      */
     public Card drawCard() {
-        return deck.remove(deck.size() - 1);
+        return Card.of(shoe.draw());
+    }
+
+    /**
+     * Turno del dealer: scopre la carta nascosta e pesca finché il punteggio è inferiore a 17
+     * (o è un 17 soft, se le regole lo prevedono); con blackjack del dealer non pesca
+     */
+    public void dealerTurn() {
+        peek();
+        if (!dealerRevealed) {
+            dealerRevealed = true;
+            changes++;
+            events.dealerRevealed(table.card(Table.DEALER, 0));
+        }
+        if (dealerBlackjack) {
+            return;
+        }
+        while (rules.dealerHits(table.state(Table.DEALER))) {
+            deal(Table.DEALER);
+        }
+    }
+
+    /**
+     * Turno di un posto: gioca tutte le sue mani secondo la strategia, dividendo le coppie quando lo decide.
+     * Un raddoppio o una resa non consentiti diventano una richiesta di carta
+     * (o stare, per DOUBLE_OR_STAND e SURRENDER_OR_STAND)
+     * @param seat L'indice del posto
+     * @param strategy La strategia compilata del posto
+     */
+    public void playSeat(int seat, CompiledStrategy strategy) {
+        peek();
+        int upcard = DealerOdds.valueIndex(table.card(Table.DEALER, 1));
+        while (!isSeatDone(seat)) {
+            int hand = Table.hand(seat, activeHands[seat]);
+            int options = getOptions(seat);
+            int bucket = CompiledStrategy.bucket(getVisibleTrueCount());
+            if ((options & OPTION_SPLIT) != 0
+                    && strategy.splits(DealerOdds.valueIndex(table.card(hand, 0)), upcard, bucket)) {
+                split(seat);
+                continue;
+            }
+            int action = strategy.decide(table.state(hand), upcard, bucket);
+            if ((action == Strategy.SURRENDER || action == Strategy.SURRENDER_OR_STAND) && (options & OPTION_SURRENDER) != 0) {
+                surrender(seat);
+            } else if ((action == Strategy.DOUBLE || action == Strategy.DOUBLE_OR_STAND) && (options & OPTION_DOUBLE) != 0) {
+                doubleDown(seat);
+            } else if (action == Strategy.STAND || action == Strategy.DOUBLE_OR_STAND || action == Strategy.SURRENDER_OR_STAND) {
+                stand(seat);
+            } else {
+                hit(seat);
+            }
+        }
+    }
+
+    /**
+     * Restituisce il true count visto dai posti: finché il dealer non l'ha rivelata,
+     * la carta nascosta è esclusa dal conteggio e contata tra le carte non viste
+     * @return Il true count, arrotondato per difetto
+     */
+    public int getVisibleTrueCount() {
+        int running = shoe.getRunningCount();
+        int unseen = shoe.remaining();
+        if (!dealerRevealed && table.cardCount(Table.DEALER) > 0) {
+            running -= Cards.hiLo(table.card(Table.DEALER, 0));
+            unseen++;
+        }
+        return unseen == 0 ? 0 : Math.floorDiv(running * Cards.DECK_SIZE, unseen);
+    }
+
+    /**
+     * Pesca una carta per la mano in gioco del posto indicato; a 21 o oltre la mano ha finito
+     * @param seat L'indice del posto
+     * @return La carta pescata
+     */
+    public Card hit(int seat) {
+        int hand = turn(seat);
+        int card = deal(hand);
+        if (HandState.total(table.state(hand)) >= 21) {
+            advance(seat);
+        }
+        return Card.of(card);
+    }
+
+    /**
+     * La mano in gioco del posto indicato sta
+     * @param seat L'indice del posto
+     */
+    public void stand(int seat) {
+        turn(seat);
+        advance(seat);
+    }
+
+    /**
+     * Raddoppia la mano in gioco: la puntata della mano raddoppia e la mano riceve un'ultima carta.
+     * È consentito su due carte qualsiasi, anche dopo uno split
+     * @param seat L'indice del posto
+     */
+    public void doubleDown(int seat) {
+        int hand = turn(seat);
+        if ((getOptions(seat) & OPTION_DOUBLE) == 0) {
+            throw new IllegalStateException("Raddoppio non consentito: " + seat);
+        }
+        table.doubleBet(hand);
+        deal(hand);
+        advance(seat);
+    }
+
+    /**
+     * Divide la coppia della mano in gioco, fino a Table.MAX_HANDS mani per posto:
+     * la mano in gioco riceve subito la seconda carta, la nuova mano quando arriva il suo turno;
+     * due assi divisi ricevono solo quella
+     * @param seat L'indice del posto
+     */
+    public void split(int seat) {
+        int hand = turn(seat);
+        if ((getOptions(seat) & OPTION_SPLIT) == 0) {
+            throw new IllegalStateException("Split non consentito: " + seat);
+        }
+        int next = table.split(seat, activeHands[seat]);
+        events.handSplit(hand, Table.hand(seat, next));
+        deal(hand);
+        if (isHandFinished(hand)) {
+            advance(seat);
+        }
+    }
+
+    /**
+     * Resa tardiva: il posto abbandona la mano iniziale e perde metà della puntata
+     * @param seat L'indice del posto
+     */
+    public void surrender(int seat) {
+        int hand = turn(seat);
+        if ((getOptions(seat) & OPTION_SURRENDER) == 0) {
+            throw new IllegalStateException("Resa non consentita: " + seat);
+        }
+        table.surrender(hand);
+        advance(seat);
+    }
+
+    /**
+     * Indica se un posto ha giocato tutte le sue mani
+     * @param seat L'indice del posto
+     * @return true se il posto ha finito
+     */
+    public boolean isSeatDone(int seat) {
+        return activeHands[seat] >= table.handCount(seat);
+    }
+
+    /**
+     * Restituisce la puntata complessiva delle mani di un posto, assicurazione esclusa
+     * @param seat L'indice del posto
+     * @return La puntata in unità della puntata iniziale
+     */
+    public int getStake(int seat) {
+        int stake = 0;
+        for (int k = 0; k < table.handCount(seat); k++) {
+            stake += table.bet(Table.hand(seat, k));
+        }
+        return stake;
+    }
+
+    /**
+     * Restituisce lo stato della mano iniziale del posto indicato (vedi HandState)
+     * @param seat L'indice del posto
+     * @return Lo stato della mano
+     */
+    public int getSeatState(int seat) {
+        return table.state(seat);
     }
 
     /**
-     * Riduce il valore degli assi se la somma supera 21
-     * @param sum La somma corrente
-     * @param aceCount Il numero di assi
-     * @return La nuova somma dopo la riduzione degli assi
+     * Restituisce il punteggio migliore della mano iniziale del posto indicato
+     * @param seat L'indice del posto
+     * @return Il punteggio della mano
      */
-    public int reduceAce(int sum, int aceCount) {
-        while (sum > 21 && aceCount > 0) {
-            sum -= 10;
-            aceCount--;
+    public int getSeatTotal(int seat) {
+        return HandState.total(getSeatState(seat));
+    }
+
+    /**
+     * Indica se la mano iniziale del posto indicato è soft
+     * @param seat L'indice del posto
+     * @return true se almeno un asso vale ancora 11
+     */
+    public boolean isSeatSoft(int seat) {
+        return HandState.isSoft(getSeatState(seat));
+    }
+
+    /**
+     * Restituisce il punteggio migliore del dealer
+     * @return Il punteggio del dealer
+     */
+    public int getDealerTotal() {
+        return HandState.total(table.state(Table.DEALER));
+    }
+
+    /**
+     * Conclude il round: calcola il risultato di ogni mano contro il dealer e la vincita netta di ogni posto.
+     * Il blackjack paga 3 a 2, la resa costa metà puntata, l'assicurazione paga 2 a 1;
+     * il risultato del posto è il segno della vincita netta.
+     * Va chiamato dopo il turno del dealer e di tutti i posti
+     */
+    public void settleRound() {
+        peek();
+        int dealerTotal = getDealerTotal();
+        for (int seat = 0; seat < players; seat++) {
+            int net = insured[seat] ? (dealerBlackjack ? 2 : -1) : 0;
+            for (int k = 0; k < table.handCount(seat); k++) {
+                int hand = Table.hand(seat, k);
+                int bet = table.bet(hand);
+                int result;
+                if ((table.flags(hand) & Table.SURRENDERED) != 0) {
+                    result = LOSS;
+                    net -= bet;
+                } else if (isNatural(hand)) {
+                    result = dealerBlackjack ? PUSH : WIN;
+                    net += dealerBlackjack ? 0 : 3 * bet;
+                } else {
+                    result = dealerBlackjack ? LOSS : determineResult(HandState.total(table.state(hand)), dealerTotal);
+                    net += result == WIN ? 2 * bet : result == LOSS ? -2 * bet : 0;
+                }
+                handResults[hand] = result;
+            }
+            nets[seat] = net;
+            results[seat] = net > 0 ? WIN : net < 0 ? LOSS : PUSH;
         }
-        return sum;
+        settled = true;
+        changes++;
+        events.roundSettled(dealerTotal);
+    }
+
+    /**
+     * Restituisce il risultato di un posto
+     * @param seat L'indice del posto
+     * @return Il codice del risultato (WIN, LOSS o PUSH), valido dopo settleRound
+     */
+    public int getResult(int seat) {
+        return results[seat];
+    }
+
+    /**
+     * Restituisce la vincita netta di un posto
+     * @param seat L'indice del posto
+     * @return La vincita in mezze puntate iniziali (3 per un blackjack, -1 per una resa), valida dopo settleRound
+     */
+    public int getNet(int seat) {
+        return nets[seat];
+    }
+
+    /**
+     * Restituisce il risultato di una mano
+     * @param hand L'indice della mano (vedi Table.hand)
+     * @return Il codice del risultato (WIN, LOSS o PUSH), valido dopo settleRound
+     */
+    public int getHandResult(int hand) {
+        return handResults[hand];
+    }
+
+    /**
+     * Determina il risultato confrontando due somme
+     * @param sum La somma del giocatore
+     * @param dealerSum La somma del dealer
+     * @return Il codice del risultato (WIN, LOSS o PUSH)
+     */
+    public static int determineResult(int sum, int dealerSum) {
+        if (sum > 21) return LOSS;
+        if (dealerSum > 21) return WIN;
+        if (sum == dealerSum) return PUSH;
+        return (sum > dealerSum) ? WIN : LOSS;
     }
 
     // Metodi getter
-    public Card getHiddenCard() { return hiddenCard; }
+    Table getTable() { return table; }
+
+    public boolean isDealerRevealed() { return dealerRevealed; }
 
-    public List<Card> getDealerHand() { return dealerHand; }
-    public List<Card> getPlayerHand() { return playerHand; }
-    public List<Card> getBot1Hand() { return bot1Hand; }
-    public List<Card> getBot2Hand() { return bot2Hand; }
+    public boolean isSettled() { return settled; }
 
-    public int getDealerSum() { return dealerSum; }
-    public int getPlayerSum() { return playerSum; }
-    public int getBot1Sum() { return bot1Sum; }
-    public int getBot2Sum() { return bot2Sum; }
+    public boolean isInsuranceOffered() { return insuranceOffered; }
 
-    public int getDealerAceCount() { return dealerAceCount; }
-    public int getPlayerAceCount() { return playerAceCount; }
-    public int getBot1AceCount() { return bot1AceCount; }
-    public int getBot2AceCount() { return bot2AceCount; }
+    public boolean isDealerBlackjack() { return dealerBlackjack; }
+
+    public boolean isInsured(int seat) { return insured[seat]; }
+
+    public int getActiveHand(int seat) { return activeHands[seat]; }
+
+    long getRound() { return round; }
 
     public int getPlayers() { return players; }
 
-    // Metodi setter
-    public void setDealerSum(int sum) { this.dealerSum = sum; }
-    public void setPlayerSum(int sum) { this.playerSum = sum; }
-    public void setBot1Sum(int sum) { this.bot1Sum = sum; }
-    public void setBot2Sum(int sum) { this.bot2Sum = sum; }
+    public ShoeView getShoeView() { return shoe.view(); }
 
-    public void setDealerAceCount(int count) { this.dealerAceCount = count; }
-    public void setPlayerAceCount(int count) { this.playerAceCount = count; }
-    public void setBot1AceCount(int count) { this.bot1AceCount = count; }
-    public void setBot2AceCount(int count) { this.bot2AceCount = count; }
+    public GameEventBus getEvents() { return events; }
+
+    public Rules getRules() { return rules; }
 
     /**
      * Classe interna che rappresenta una carta da gioco
+     * È una vista flyweight sulla codifica intera di Cards: esiste un'unica istanza per carta
      */
-    public class Card {
-        private final String value;
-        private final String type;
+    public static final class Card {
+        // Le 52 istanze condivise, indicizzate per codifica
+        private static final Card[] CARDS = new Card[Cards.DECK_SIZE];
+
+        static {
+            for (int i = 0; i < CARDS.length; i++) {
+                CARDS[i] = new Card(i);
+            }
+        }
+
+        private final int ordinal;
     
         /**
          * Costruttore della carta
-         * @param value Il valore della carta
-         * @param type Il seme della carta
+         * @param ordinal La codifica della carta (rango * 4 + seme)
+         */
+        private Card(int ordinal) {
+            this.ordinal = ordinal;
+        }
+
+        /**
+         * Restituisce l'istanza condivisa di una carta
+         * @param ordinal La codifica della carta (rango * 4 + seme)
+         * @return La carta
          */
-        public Card(String value, String type) {
-            this.value = value;
-            this.type = type;
+        public static Card of(int ordinal) {
+            return CARDS[ordinal];
+        }
+
+        /**
+         * Restituisce la codifica intera della carta
+         * @return La codifica (rango * 4 + seme)
+         */
+        public int getOrdinal() {
+            return ordinal;
         }
     
         /**
@@ -231,10 +727,7 @@ private void buildDeck() {
          * @return Il valore numerico della carta
          */
         public int getValue() {
-            if ("AJQK".contains(value)) {
-                return value.equals("A") ? 11 : 10;
-            }
-            return Integer.parseInt(value);
+            return Cards.value(ordinal);
         }
     
         /**
@@ -242,7 +735,7 @@ private void buildDeck() {
          * @return true se la carta è un asso, false altrimenti
          */
         public boolean isAce() {
-            return value.equals("A");
+            return Cards.isAce(ordinal);
         }
     
         /**
@@ -250,7 +743,7 @@ private void buildDeck() {
          * @return Il percorso dell'immagine della carta
          */
         public String getImagePath() {
-            return "/BlackJack/resources/images/cards/" + value + "-" + type + ".png";
+            return Cards.imagePath(ordinal);
         }
     
         /**
@@ -259,8 +752,7 @@ private void buildDeck() {
          */
         @Override
         public String toString() {
-            return value + "-" + type;
+            return Cards.name(ordinal);
         }
     }
 }
-
@@ -0,0 +1,31 @@
+package model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Strategia casuale: in ogni cella chiede carta con la probabilità indicata
+ * Le scelte vengono estratte alla compilazione, quindi ogni compilazione produce un giocatore diverso
+ * ma coerente per tutta la durata della tabella
+ */
+public final class RandomStrategy implements Strategy {
+    private final RandomGenerator random;
+    private final double hitProbability;
+
+    /**
+     * Costruttore
+     * @param random Il generatore delle scelte
+     * @param hitProbability La probabilità di chiedere carta in ogni cella
+     */
+    public RandomStrategy(RandomGenerator random, double hitProbability) {
+        if (hitProbability < 0 || hitProbability > 1) {
+            throw new IllegalArgumentException("Probabilità non valida: " + hitProbability);
+        }
+        this.random = random;
+        this.hitProbability = hitProbability;
+    }
+
+    @Override
+    public int action(int state, int upcard, int trueCount) {
+        return random.nextDouble() < hitProbability ? HIT : STAND;
+    }
+}
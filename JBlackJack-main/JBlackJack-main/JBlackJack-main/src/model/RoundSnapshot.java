@@ -0,0 +1,290 @@
+package model;
+
+/**
+ * Fotografia immutabile di un round
+ * Viene creata dal thread di gioco con Model.snapshot() e pubblicata tramite un riferimento volatile,
+ * quindi può essere letta da qualsiasi thread (in particolare dall'EDT) senza lock.
+ * Non condivide nulla con il Model; le mani che non cambiano tra due fotografie dello stesso round
+ * sono condivise con la fotografia precedente, dato che nessuna delle due le modifica
+ */
+public final class RoundSnapshot {
+    // Round a cui appartiene la fotografia
+    private final long round;
+
+    // Numero di posti al tavolo
+    private final int players;
+
+    // Carte di ogni mano, indicizzate come nella Table (vedi Table.hand)
+    private final byte[][] hands;
+
+    // Revisione di ogni mano quando è stata copiata (vedi Table.revision)
+    private final int[] revisions;
+
+    // Stato di ogni mano (vedi HandState), indicizzato come hands
+    private final int[] states;
+
+    // Puntata e indicatori di ogni mano (vedi Table.bet e Table.flags), indicizzati come hands
+    private final int[] bets;
+    private final int[] flags;
+
+    // Numero di mani, mano in gioco e azioni disponibili (vedi Model.getOptions) di ogni posto
+    private final int[] handCounts;
+    private final int[] activeHands;
+    private final int[] options;
+
+    // Posti che hanno preso l'assicurazione
+    private final boolean[] insured;
+
+    // true se il dealer ha giocato e la carta nascosta è scoperta
+    private final boolean dealerRevealed;
+
+    // true se il round è concluso e i risultati sono definitivi
+    private final boolean settled;
+
+    // Risultato e vincita netta di ogni posto e risultato di ogni mano, 0 finché il round non è concluso
+    private final int[] results;
+    private final int[] nets;
+    private final int[] handResults;
+
+    /**
+     * Fotografa lo stato del round
+     *
+     * @param previous La fotografia precedente, o null
+     * @param model Il modello
+     */
+    RoundSnapshot(RoundSnapshot previous, Model model) {
+        Table table = model.getTable();
+        long round = model.getRound();
+        // Si condivide solo all'interno dello stesso round: tra due round le mani ripartono da zero
+        RoundSnapshot shared = previous != null && previous.round == round ? previous : null;
+        this.round = round;
+        this.players = table.getSeats();
+        this.hands = new byte[Table.HAND_SLOTS][];
+        this.revisions = new int[Table.HAND_SLOTS];
+        this.states = new int[Table.HAND_SLOTS];
+        this.bets = new int[Table.HAND_SLOTS];
+        this.flags = new int[Table.HAND_SLOTS];
+        this.handCounts = new int[players];
+        this.activeHands = new int[players];
+        this.options = new int[players];
+        this.insured = new boolean[players];
+        for (int seat = 0; seat < players; seat++) {
+            handCounts[seat] = table.handCount(seat);
+            activeHands[seat] = model.getActiveHand(seat);
+            options[seat] = model.getOptions(seat);
+            insured[seat] = model.isInsured(seat);
+            for (int k = 0; k < handCounts[seat]; k++) {
+                takeHand(shared, table, Table.hand(seat, k));
+            }
+        }
+        takeHand(shared, table, Table.DEALER);
+        this.dealerRevealed = model.isDealerRevealed();
+        this.settled = model.isSettled();
+        if (shared != null && shared.settled == settled) {
+            this.results = shared.results;
+            this.nets = shared.nets;
+            this.handResults = shared.handResults;
+        } else {
+            this.results = new int[players];
+            this.nets = new int[players];
+            this.handResults = new int[Table.HAND_SLOTS];
+            for (int seat = 0; seat < players; seat++) {
+                results[seat] = model.getResult(seat);
+                nets[seat] = model.getNet(seat);
+            }
+            for (int hand = 0; hand < Table.HAND_SLOTS; hand++) {
+                handResults[hand] = model.getHandResult(hand);
+            }
+        }
+    }
+
+    /**
+     * Prende una mano dal tavolo: la condivide con la fotografia precedente se non è cambiata,
+     * altrimenti ne copia le carte
+     *
+     * @param shared La fotografia precedente dello stesso round, o null
+     * @param table Il tavolo
+     * @param hand L'indice della mano
+     */
+    private void takeHand(RoundSnapshot shared, Table table, int hand) {
+        int count = table.cardCount(hand);
+        int revision = table.revision(hand);
+        states[hand] = table.state(hand);
+        bets[hand] = table.bet(hand);
+        flags[hand] = table.flags(hand);
+        revisions[hand] = revision;
+        if (shared != null && shared.hands[hand] != null && shared.revisions[hand] == revision) {
+            hands[hand] = shared.hands[hand];
+            return;
+        }
+        byte[] cards = new byte[count];
+        for (int i = 0; i < count; i++) {
+            cards[i] = (byte) table.card(hand, i);
+        }
+        hands[hand] = cards;
+    }
+
+    /**
+     * Restituisce il numero di carte di una mano
+     *
+     * @param hand L'indice della mano (vedi Table.hand), oppure Table.DEALER
+     * @return Il numero di carte, 0 per una mano non in gioco
+     */
+    public int cardCount(int hand) {
+        return hands[hand] == null ? 0 : hands[hand].length;
+    }
+
+    /**
+     * Restituisce una carta di una mano
+     *
+     * @param hand L'indice della mano (vedi Table.hand), oppure Table.DEALER
+     * @param i La posizione della carta nella mano
+     * @return La carta codificata (vedi Cards)
+     */
+    public int card(int hand, int i) {
+        return hands[hand][i];
+    }
+
+    /**
+     * Restituisce il punteggio migliore della mano iniziale di un posto
+     *
+     * @param seat L'indice del posto
+     * @return Il punteggio della mano
+     */
+    public int getSeatTotal(int seat) {
+        return HandState.total(states[seat]);
+    }
+
+    /**
+     * Restituisce il punteggio migliore di una mano
+     *
+     * @param hand L'indice della mano (vedi Table.hand)
+     * @return Il punteggio della mano
+     */
+    public int getHandTotal(int hand) {
+        return HandState.total(states[hand]);
+    }
+
+    /**
+     * Restituisce la puntata di una mano
+     *
+     * @param hand L'indice della mano (vedi Table.hand)
+     * @return La puntata in unità della puntata iniziale
+     */
+    public int getBet(int hand) {
+        return bets[hand];
+    }
+
+    /**
+     * Restituisce gli indicatori di una mano
+     *
+     * @param hand L'indice della mano (vedi Table.hand)
+     * @return Una combinazione di Table.DOUBLED, Table.SPLIT e Table.SURRENDERED
+     */
+    public int getFlags(int hand) {
+        return flags[hand];
+    }
+
+    /**
+     * Indica se una mano è un blackjack (vedi Model.isNatural)
+     *
+     * @param hand L'indice della mano (vedi Table.hand), oppure Table.DEALER
+     * @return true se la mano è un blackjack
+     */
+    public boolean isNatural(int hand) {
+        return cardCount(hand) == 2 && HandState.total(states[hand]) == 21 && (flags[hand] & Table.SPLIT) == 0;
+    }
+
+    /**
+     * Restituisce il numero di mani di un posto
+     *
+     * @param seat L'indice del posto
+     * @return Il numero di mani, da 1 a Table.MAX_HANDS
+     */
+    public int handCount(int seat) {
+        return handCounts[seat];
+    }
+
+    /**
+     * Restituisce la mano in gioco di un posto
+     *
+     * @param seat L'indice del posto
+     * @return La mano del posto, uguale a handCount quando il posto ha finito
+     */
+    public int getActiveHand(int seat) {
+        return activeHands[seat];
+    }
+
+    /**
+     * Restituisce le azioni disponibili per un posto
+     *
+     * @param seat L'indice del posto
+     * @return Una combinazione delle costanti Model.OPTION_*
+     */
+    public int getOptions(int seat) {
+        return options[seat];
+    }
+
+    /**
+     * Restituisce la puntata complessiva delle mani di un posto, assicurazione esclusa
+     *
+     * @param seat L'indice del posto
+     * @return La puntata in unità della puntata iniziale
+     */
+    public int getStake(int seat) {
+        int stake = 0;
+        for (int k = 0; k < handCounts[seat]; k++) {
+            stake += bets[Table.hand(seat, k)];
+        }
+        return stake;
+    }
+
+    public boolean isInsured(int seat) { return insured[seat]; }
+
+    /**
+     * Restituisce il punteggio migliore del dealer
+     *
+     * @return Il punteggio del dealer
+     */
+    public int getDealerTotal() {
+        return HandState.total(states[Table.DEALER]);
+    }
+
+    /**
+     * Restituisce il risultato di un posto
+     *
+     * @param seat L'indice del posto
+     * @return Il codice del risultato (WIN, LOSS o PUSH), 0 se il round non è concluso
+     */
+    public int getResult(int seat) {
+        return results[seat];
+    }
+
+    /**
+     * Restituisce la vincita netta di un posto
+     *
+     * @param seat L'indice del posto
+     * @return La vincita in mezze puntate iniziali, 0 se il round non è concluso
+     */
+    public int getNet(int seat) {
+        return nets[seat];
+    }
+
+    /**
+     * Restituisce il risultato di una mano
+     *
+     * @param hand L'indice della mano (vedi Table.hand)
+     * @return Il codice del risultato (WIN, LOSS o PUSH), 0 se il round non è concluso
+     */
+    public int getHandResult(int hand) {
+        return handResults[hand];
+    }
+
+    public long getRound() { return round; }
+
+    public int getPlayers() { return players; }
+
+    public boolean isDealerRevealed() { return dealerRevealed; }
+
+    public boolean isSettled() { return settled; }
+}
@@ -0,0 +1,61 @@
+package model;
+
+/**
+ * Regole del tavolo che cambiano la strategia ottimale
+ * Numero di mazzi nel sabot e comportamento del dealer con un 17 soft
+ */
+public final class Rules {
+    /**
+     * Regole del gioco: sei mazzi, il dealer sta su ogni 17
+     */
+    public static final Rules DEFAULT = new Rules(6, false);
+
+    private final int decks;
+    private final boolean dealerHitsSoft17;
+
+    /**
+     * Costruttore delle regole
+     * @param decks Il numero di mazzi (da Shoe.MIN_DECKS a Shoe.MAX_DECKS)
+     * @param dealerHitsSoft17 true se il dealer chiede carta con un 17 soft
+     */
+    public Rules(int decks, boolean dealerHitsSoft17) {
+        if (decks < Shoe.MIN_DECKS || decks > Shoe.MAX_DECKS) {
+            throw new IllegalArgumentException("Numero di mazzi non valido: " + decks);
+        }
+        this.decks = decks;
+        this.dealerHitsSoft17 = dealerHitsSoft17;
+    }
+
+    public int getDecks() { return decks; }
+
+    public boolean dealerHitsSoft17() { return dealerHitsSoft17; }
+
+    /**
+     * Indica se il dealer deve chiedere carta
+     * @param state Lo stato della mano del dealer (vedi HandState)
+     * @return true se il dealer deve pescare
+     */
+    public boolean dealerHits(int state) {
+        int total = HandState.total(state);
+        return total < Model.DEALER_STANDS_ON
+                || (dealerHitsSoft17 && total == Model.DEALER_STANDS_ON && HandState.isSoft(state));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof Rules)) return false;
+        Rules rules = (Rules) other;
+        return decks == rules.decks && dealerHitsSoft17 == rules.dealerHitsSoft17;
+    }
+
+    @Override
+    public int hashCode() {
+        return decks * 2 + (dealerHitsSoft17 ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return decks + (decks == 1 ? " mazzo, " : " mazzi, ") + (dealerHitsSoft17 ? "H17" : "S17");
+    }
+}
@@ -0,0 +1,283 @@
+package model;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * Sabot persistente da 1 a 8 mazzi
+ * Le carte sono codificate come in Cards e conservate in un array primitivo con un cursore;
+ * il sabot viene rimescolato solo quando si raggiunge la carta di taglio.
+ * Se si esaurisce a metà round vengono rimescolati solo gli scarti: le carte del round restano sul tavolo.
+ * A ogni carta pescata aggiorna il running count Hi-Lo e il numero di carte rimaste per rango,
+ * leggibili tramite ShoeView
+ */
+public class Shoe implements ShoeView {
+    // Limiti sul numero di mazzi
+    public static final int MIN_DECKS = 1;
+    public static final int MAX_DECKS = 8;
+
+    // Penetrazione predefinita: si rimescola dopo aver distribuito il 75% delle carte
+    public static final double DEFAULT_PENETRATION = 0.75;
+
+    // Nome del generatore crittografico accettato da randomGenerator
+    public static final String SECURE_RANDOM = "SecureRandom";
+
+    // Le carte del sabot
+    private final byte[] cards;
+
+    // Posizione della prossima carta da distribuire
+    private int cursor;
+
+    // Posizione della prima carta del round in corso: le carte da qui al cursore sono sul tavolo
+    private int roundStart;
+
+    // Posizione della carta di taglio
+    private final int cutCard;
+
+    // Numero di mazzi
+    private final int decks;
+
+    // Generatore casuale usato per mescolare
+    private final RandomGenerator random;
+
+    // Running count Hi-Lo delle carte pescate dall'ultimo mescolamento
+    private int runningCount;
+
+    // Carte rimaste per rango
+    private final int[] rankCounts = new int[Cards.RANKS];
+
+    // Vista in sola lettura, creata una volta
+    private final ShoeView view = new View();
+
+    /**
+     * Costruttore del sabot con penetrazione predefinita
+     * @param decks Il numero di mazzi (da 1 a 8)
+     * @param random Il generatore casuale usato per mescolare
+     */
+    public Shoe(int decks, RandomGenerator random) {
+        this(decks, DEFAULT_PENETRATION, random);
+    }
+
+    /**
+     * Costruttore del sabot
+     * @param decks Il numero di mazzi (da 1 a 8)
+     * @param penetration La frazione di carte distribuite prima della carta di taglio (0, 1]
+     * @param random Il generatore casuale usato per mescolare
+     */
+    public Shoe(int decks, double penetration, RandomGenerator random) {
+        if (decks < MIN_DECKS || decks > MAX_DECKS) {
+            throw new IllegalArgumentException("Numero di mazzi non valido: " + decks);
+        }
+        if (!(penetration > 0 && penetration <= 1)) {
+            throw new IllegalArgumentException("Penetrazione non valida: " + penetration);
+        }
+        this.decks = decks;
+        this.random = random;
+        this.cards = new byte[decks * Cards.DECK_SIZE];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = (byte) (i % Cards.DECK_SIZE);
+        }
+        this.cutCard = Math.max(1, (int) Math.round(cards.length * penetration));
+        shuffle();
+    }
+
+    /**
+     * Costruttore di un sabot da un mazzo, come il vecchio mazzo del Model
+     */
+    public Shoe() {
+        this(MIN_DECKS, new Random());
+    }
+
+    /**
+     * Crea un generatore casuale a partire dal nome dell'algoritmo
+     * Accetta i nomi di RandomGenerator.of (ad esempio "SplittableRandom" o "L64X128MixRandom")
+     * e "SecureRandom" per i tavoli reali
+     * @param algorithm Il nome dell'algoritmo
+     * @return Il generatore
+     */
+    public static RandomGenerator randomGenerator(String algorithm) {
+        if (SECURE_RANDOM.equals(algorithm)) {
+            return new SecureRandom();
+        }
+        return RandomGenerator.of(algorithm);
+    }
+
+    /**
+     * Mischia tutte le carte sul posto (Fisher-Yates) e riporta il cursore all'inizio
+     * Ogni carta viene scambiata solo con una posizione non ancora fissata, quindi tutte
+     * le permutazioni sono equiprobabili
+     */
+    public void shuffle() {
+        shuffle(0);
+        cursor = 0;
+        roundStart = 0;
+        runningCount = 0;
+        Arrays.fill(rankCounts, decks * Cards.SUITS);
+    }
+
+    /**
+     * Mischia sul posto (Fisher-Yates) le carte da una posizione alla fine dell'array
+     * @param from La prima posizione da mischiare
+     */
+    private void shuffle(int from) {
+        byte[] cards = this.cards;
+        RandomGenerator random = this.random;
+        for (int i = cards.length - 1; i > from; i--) {
+            int j = from + random.nextInt(i - from + 1);
+            byte temp = cards[i];
+            cards[i] = cards[j];
+            cards[j] = temp;
+        }
+    }
+
+    /**
+     * Inizia un round: rimescola se è stata raggiunta la carta di taglio, poi segna
+     * che le carte pescate da qui in avanti restano sul tavolo fino al round successivo
+     */
+    public void beginRound() {
+        if (needsShuffle()) {
+            shuffle();
+        }
+        roundStart = cursor;
+    }
+
+    @Override
+    public boolean needsShuffle() {
+        return cursor >= cutCard;
+    }
+
+    /**
+     * Pesca la prossima carta
+     * Se il sabot è esaurito a metà round vengono rimescolati gli scarti dei round precedenti
+     * @return La carta codificata
+     * @throws IllegalStateException se tutte le carte del sabot sono sul tavolo
+     */
+    public int draw() {
+        if (cursor == cards.length) {
+            reshuffleDiscards();
+        }
+        int card = cards[cursor++];
+        runningCount += Cards.hiLo(card);
+        rankCounts[Cards.rank(card)]--;
+        return card;
+    }
+
+    /**
+     * Rimescola gli scarti quando il sabot si esaurisce a metà round
+     * Le carte del round in corso vengono spostate in testa all'array e restano fuori dal mescolamento;
+     * running count e carte rimaste per rango ripartono da un sabot completo meno quelle carte
+     */
+    private void reshuffleDiscards() {
+        int inPlay = cards.length - roundStart;
+        if (roundStart == 0) {
+            throw new IllegalStateException("Sabot esaurito: tutte le " + cards.length + " carte sono sul tavolo");
+        }
+        // Scambia le prime posizioni con le ultime: l'ordine non conta, scarti e carte in gioco restano separati
+        byte[] cards = this.cards;
+        int swaps = Math.min(inPlay, roundStart);
+        for (int i = 0; i < swaps; i++) {
+            byte temp = cards[i];
+            cards[i] = cards[cards.length - 1 - i];
+            cards[cards.length - 1 - i] = temp;
+        }
+        shuffle(inPlay);
+        runningCount = 0;
+        Arrays.fill(rankCounts, decks * Cards.SUITS);
+        for (int i = 0; i < inPlay; i++) {
+            runningCount += Cards.hiLo(cards[i]);
+            rankCounts[Cards.rank(cards[i])]--;
+        }
+        cursor = inPlay;
+        roundStart = 0;
+    }
+
+    @Override
+    public int remaining() {
+        return cards.length - cursor;
+    }
+
+    @Override
+    public int size() {
+        return cards.length;
+    }
+
+    @Override
+    public int remaining(int rank) {
+        return rankCounts[rank];
+    }
+
+    @Override
+    public int[] remainingValues(int[] counts) {
+        for (int value = 0; value < DealerOdds.TEN; value++) {
+            counts[value] = rankCounts[value];
+        }
+        counts[DealerOdds.TEN] = 0;
+        for (int rank = DealerOdds.TEN; rank < Cards.RANKS; rank++) {
+            counts[DealerOdds.TEN] += rankCounts[rank];
+        }
+        return counts;
+    }
+
+    @Override
+    public int getRunningCount() {
+        return runningCount;
+    }
+
+    @Override
+    public int getTrueCount() {
+        int remaining = remaining();
+        return remaining == 0 ? 0 : Math.floorDiv(runningCount * Cards.DECK_SIZE, remaining);
+    }
+
+    /**
+     * Restituisce la vista in sola lettura del sabot, da passare a chi non deve pescare
+     * @return La vista
+     */
+    public ShoeView view() {
+        return view;
+    }
+
+    /**
+     * Restituisce la posizione della carta di taglio
+     * @return L'indice della carta di taglio
+     */
+    public int getCutCard() {
+        return cutCard;
+    }
+
+    @Override
+    public int getDecks() {
+        return decks;
+    }
+
+    /**
+     * Vista che inoltra le sole letture al sabot
+     */
+    private class View implements ShoeView {
+        @Override
+        public int getDecks() { return decks; }
+
+        @Override
+        public int size() { return Shoe.this.size(); }
+
+        @Override
+        public int remaining() { return Shoe.this.remaining(); }
+
+        @Override
+        public boolean needsShuffle() { return Shoe.this.needsShuffle(); }
+
+        @Override
+        public int remaining(int rank) { return Shoe.this.remaining(rank); }
+
+        @Override
+        public int[] remainingValues(int[] counts) { return Shoe.this.remainingValues(counts); }
+
+        @Override
+        public int getRunningCount() { return runningCount; }
+
+        @Override
+        public int getTrueCount() { return Shoe.this.getTrueCount(); }
+    }
+}
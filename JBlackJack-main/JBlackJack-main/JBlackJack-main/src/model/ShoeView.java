@@ -0,0 +1,53 @@
+package model;
+
+/**
+ * Vista in sola lettura del sabot: carte rimaste e conteggio Hi-Lo
+ * Tutti i valori sono aggiornati dal sabot a ogni carta pescata, quindi leggerli costa O(1)
+ */
+public interface ShoeView {
+
+    /**
+     * @return Il numero di mazzi
+     */
+    int getDecks();
+
+    /**
+     * @return Il numero totale di carte del sabot
+     */
+    int size();
+
+    /**
+     * @return Il numero di carte ancora da distribuire
+     */
+    int remaining();
+
+    /**
+     * @return true se è stata raggiunta la carta di taglio e il prossimo round partirà da un sabot mescolato
+     */
+    boolean needsShuffle();
+
+    /**
+     * Restituisce il numero di carte rimaste di un rango
+     * @param rank Il rango (0 = asso, 12 = re)
+     * @return Le carte rimaste di quel rango
+     */
+    int remaining(int rank);
+
+    /**
+     * Scrive la composizione delle carte rimaste per valore, nel formato di DealerOdds
+     * @param counts L'array di DealerOdds.VALUES elementi da riempire
+     * @return Lo stesso array counts
+     */
+    int[] remainingValues(int[] counts);
+
+    /**
+     * @return Il running count Hi-Lo delle carte distribuite dall'ultimo mescolamento
+     */
+    int getRunningCount();
+
+    /**
+     * Restituisce il true count: running count diviso per i mazzi rimasti, arrotondato per difetto
+     * @return Il true count, 0 se il sabot è vuoto
+     */
+    int getTrueCount();
+}
@@ -0,0 +1,69 @@
+package model;
+
+/**
+ * Strategia di gioco di un posto al tavolo
+ * Decide l'azione in base allo stato della mano, alla carta scoperta del dealer e al true count,
+ * oltre a quando dividere una coppia e quando prendere l'assicurazione.
+ * Le implementazioni non vengono interrogate durante il gioco: compile() le trasforma una volta
+ * in una CompiledStrategy, in cui ogni decisione è una lettura di tabella
+ */
+public interface Strategy {
+    // Azioni
+    byte STAND = 0;
+    byte HIT = 1;
+    // Raddoppia se consentito, altrimenti chiede carta
+    byte DOUBLE = 2;
+    // Raddoppia se consentito, altrimenti sta
+    byte DOUBLE_OR_STAND = 3;
+    // Si arrende se consentito, altrimenti chiede carta
+    byte SURRENDER = 4;
+    // Si arrende se consentito, altrimenti sta
+    byte SURRENDER_OR_STAND = 5;
+
+    /**
+     * Strategia che imita il dealer: chiede carta finché il punteggio è inferiore a 17
+     */
+    Strategy DEALER_MIMIC = (state, upcard, trueCount) -> HandState.total(state) < Model.DEALER_STANDS_ON ? HIT : STAND;
+
+    /**
+     * Strategia che non chiede mai carta
+     */
+    Strategy ALWAYS_STAND = (state, upcard, trueCount) -> STAND;
+
+    /**
+     * Decide l'azione per una cella della tabella
+     * @param state Lo stato della mano (vedi HandState), mai sballata
+     * @param upcard Il valore della carta scoperta del dealer (0 = asso, 9 = dieci e figure)
+     * @param trueCount Il true count, tra CompiledStrategy.MIN_COUNT e CompiledStrategy.MAX_COUNT
+     * @return STAND, HIT, DOUBLE, DOUBLE_OR_STAND, SURRENDER o SURRENDER_OR_STAND
+     */
+    int action(int state, int upcard, int trueCount);
+
+    /**
+     * Decide se dividere una coppia; per impostazione predefinita non divide mai
+     * @param pair Il valore delle due carte (0 = assi, 9 = dieci e figure)
+     * @param upcard Il valore della carta scoperta del dealer
+     * @param trueCount Il true count, tra CompiledStrategy.MIN_COUNT e CompiledStrategy.MAX_COUNT
+     * @return true per dividere
+     */
+    default boolean split(int pair, int upcard, int trueCount) {
+        return false;
+    }
+
+    /**
+     * Decide se prendere l'assicurazione quando il dealer mostra un asso; per impostazione predefinita mai
+     * @param trueCount Il true count, tra CompiledStrategy.MIN_COUNT e CompiledStrategy.MAX_COUNT
+     * @return true per assicurarsi
+     */
+    default boolean insurance(int trueCount) {
+        return false;
+    }
+
+    /**
+     * Compila la strategia in una tabella piatta
+     * @return La strategia compilata
+     */
+    default CompiledStrategy compile() {
+        return CompiledStrategy.compile(this);
+    }
+}
@@ -0,0 +1,258 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Tavolo con fino a 7 posti più il dealer
+ * Le mani sono memorizzate come struct-of-arrays primitivi (carte, numero di carte, stato),
+ * così distribuzione e risoluzione scorrono i posti con un solo ciclo, senza codice per posto.
+ * Ogni posto ha un gruppo preallocato di MAX_HANDS mani: la prima ha l'indice del posto,
+ * le altre (usate dagli split) seguono il dealer, quindi dividere una mano non alloca nulla
+ */
+public class Table {
+    // Numero massimo di posti
+    public static final int MAX_SEATS = 7;
+
+    // Indice della mano del dealer negli array
+    public static final int DEALER = MAX_SEATS;
+
+    // Numero massimo di mani di un posto dopo gli split
+    public static final int MAX_HANDS = 4;
+
+    // Numero di mani memorizzate: la prima di ogni posto, il dealer e le mani aggiuntive dei posti
+    public static final int HAND_SLOTS = MAX_SEATS + 1 + MAX_SEATS * (MAX_HANDS - 1);
+
+    // Numero massimo di carte in una mano: 21 carte di totale hard 21 più la carta che sballa
+    public static final int MAX_CARDS = 24;
+
+    // Indicatori di una mano
+    public static final int DOUBLED = 1;
+    public static final int SPLIT = 2;
+    public static final int SURRENDERED = 4;
+
+    // Carte di tutte le mani: la mano h occupa [h * MAX_CARDS, (h + 1) * MAX_CARDS)
+    private final byte[] cards = new byte[HAND_SLOTS * MAX_CARDS];
+
+    // Numero di carte di ogni mano
+    private final int[] counts = new int[HAND_SLOTS];
+
+    // Stato di ogni mano (vedi HandState)
+    private final int[] states = new int[HAND_SLOTS];
+
+    // Puntata di ogni mano in unità della puntata iniziale (2 dopo il raddoppio)
+    private final int[] bets = new int[HAND_SLOTS];
+
+    // Indicatori di ogni mano (DOUBLED, SPLIT, SURRENDERED)
+    private final int[] flags = new int[HAND_SLOTS];
+
+    // Revisione di ogni mano, incrementata a ogni modifica delle sue carte
+    private final int[] revisions = new int[HAND_SLOTS];
+
+    // Numero di mani in gioco di ogni posto
+    private final int[] handCounts = new int[MAX_SEATS];
+
+    // Numero di posti occupati
+    private final int seats;
+
+    // Contatore delle modifiche, incrementato a ogni carta distribuita o svuotamento
+    private long version;
+
+    /**
+     * Costruttore del tavolo
+     * @param seats Il numero di posti occupati (da 1 a 7)
+     */
+    public Table(int seats) {
+        if (seats < 1 || seats > MAX_SEATS) {
+            throw new IllegalArgumentException("Numero di posti non valido: " + seats);
+        }
+        this.seats = seats;
+        clear();
+    }
+
+    /**
+     * Restituisce l'indice di una mano di un posto
+     * @param seat L'indice del posto
+     * @param k La mano del posto (0 per la mano iniziale, fino a MAX_HANDS - 1)
+     * @return L'indice della mano negli array
+     */
+    public static int hand(int seat, int k) {
+        return k == 0 ? seat : DEALER + 1 + seat * (MAX_HANDS - 1) + k - 1;
+    }
+
+    /**
+     * Restituisce il posto a cui appartiene una mano, inverso di hand
+     * @param hand L'indice della mano, diverso da DEALER
+     * @return L'indice del posto
+     */
+    public static int seatOf(int hand) {
+        return hand < MAX_SEATS ? hand : (hand - DEALER - 1) / (MAX_HANDS - 1);
+    }
+
+    /**
+     * Restituisce la posizione di una mano tra quelle del suo posto, inverso di hand
+     * @param hand L'indice della mano, diverso da DEALER
+     * @return La mano del posto (0 = mano iniziale)
+     */
+    public static int handOf(int hand) {
+        return hand < MAX_SEATS ? 0 : (hand - DEALER - 1) % (MAX_HANDS - 1) + 1;
+    }
+
+    /**
+     * Svuota tutte le mani, dealer compreso; ogni posto torna ad avere una sola mano
+     */
+    public void clear() {
+        for (int hand = 0; hand < HAND_SLOTS; hand++) {
+            counts[hand] = 0;
+            states[hand] = HandState.EMPTY;
+            bets[hand] = 1;
+            flags[hand] = 0;
+            revisions[hand]++;
+        }
+        Arrays.fill(handCounts, 1);
+        version++;
+    }
+
+    /**
+     * Aggiunge una carta a una mano
+     * @param hand L'indice della mano (vedi hand), oppure DEALER
+     * @param card La carta codificata
+     */
+    public void deal(int hand, int card) {
+        int count = counts[hand];
+        if (count == MAX_CARDS) {
+            throw new IllegalStateException("Mano piena: " + hand);
+        }
+        cards[hand * MAX_CARDS + count] = (byte) card;
+        counts[hand] = count + 1;
+        states[hand] = HandState.add(states[hand], card);
+        revisions[hand]++;
+        version++;
+    }
+
+    /**
+     * Divide una mano di due carte: la seconda carta apre la prossima mano libera del posto
+     * @param seat L'indice del posto
+     * @param k La mano del posto da dividere
+     * @return L'indice della nuova mano del posto
+     */
+    public int split(int seat, int k) {
+        int hand = hand(seat, k);
+        if (counts[hand] != 2 || handCounts[seat] == MAX_HANDS) {
+            throw new IllegalStateException("Mano non divisibile: " + hand);
+        }
+        int next = handCounts[seat]++;
+        int target = hand(seat, next);
+        int moved = cards[hand * MAX_CARDS + 1];
+        cards[target * MAX_CARDS] = (byte) moved;
+        counts[target] = 1;
+        states[target] = HandState.add(HandState.EMPTY, moved);
+        bets[target] = bets[hand];
+        flags[target] = flags[hand] | SPLIT;
+        counts[hand] = 1;
+        states[hand] = HandState.add(HandState.EMPTY, cards[hand * MAX_CARDS]);
+        flags[hand] |= SPLIT;
+        revisions[hand]++;
+        revisions[target]++;
+        version++;
+        return next;
+    }
+
+    /**
+     * Raddoppia la puntata di una mano
+     * @param hand L'indice della mano
+     */
+    public void doubleBet(int hand) {
+        bets[hand] *= 2;
+        flags[hand] |= DOUBLED;
+        version++;
+    }
+
+    /**
+     * Segna una mano come abbandonata
+     * @param hand L'indice della mano
+     */
+    public void surrender(int hand) {
+        flags[hand] |= SURRENDERED;
+        version++;
+    }
+
+    /**
+     * Restituisce una carta di una mano
+     * @param hand L'indice della mano (vedi hand), oppure DEALER
+     * @param index La posizione della carta nella mano
+     * @return La carta codificata
+     */
+    public int card(int hand, int index) {
+        return cards[hand * MAX_CARDS + index];
+    }
+
+    /**
+     * Restituisce il numero di carte di una mano
+     * @param hand L'indice della mano (vedi hand), oppure DEALER
+     * @return Il numero di carte
+     */
+    public int cardCount(int hand) {
+        return counts[hand];
+    }
+
+    /**
+     * Restituisce lo stato di una mano
+     * @param hand L'indice della mano (vedi hand), oppure DEALER
+     * @return Lo stato (vedi HandState)
+     */
+    public int state(int hand) {
+        return states[hand];
+    }
+
+    /**
+     * Restituisce il numero di mani in gioco di un posto
+     * @param seat L'indice del posto
+     * @return Il numero di mani, da 1 a MAX_HANDS
+     */
+    public int handCount(int seat) {
+        return handCounts[seat];
+    }
+
+    /**
+     * Restituisce la puntata di una mano
+     * @param hand L'indice della mano
+     * @return La puntata in unità della puntata iniziale
+     */
+    public int bet(int hand) {
+        return bets[hand];
+    }
+
+    /**
+     * Restituisce gli indicatori di una mano
+     * @param hand L'indice della mano
+     * @return Una combinazione di DOUBLED, SPLIT e SURRENDERED
+     */
+    public int flags(int hand) {
+        return flags[hand];
+    }
+
+    /**
+     * Restituisce la revisione di una mano, che cambia a ogni modifica delle sue carte
+     * @param hand L'indice della mano
+     * @return La revisione
+     */
+    public int revision(int hand) {
+        return revisions[hand];
+    }
+
+    /**
+     * Restituisce il contatore delle modifiche del tavolo
+     * @return Un valore che cambia a ogni modifica delle mani
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Restituisce il numero di posti occupati
+     * @return Il numero di posti
+     */
+    public int getSeats() {
+        return seats;
+    }
+}
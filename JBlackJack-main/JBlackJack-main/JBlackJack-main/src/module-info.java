@@ -6,4 +6,6 @@
  */
 module blackjack {
 	requires java.desktop;
+	// Solo per i benchmark: allocazioni per thread, opzionale a runtime
+	requires static jdk.management;
 }
\ No newline at end of file
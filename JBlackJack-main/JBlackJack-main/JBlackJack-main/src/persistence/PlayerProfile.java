@@ -0,0 +1,78 @@
+package persistence;
+
+import model.Model;
+
+/**
+ * Profilo del giocatore: nickname, avatar, statistiche e importo
+ */
+public final class PlayerProfile {
+    private final String nickname;
+    private int avatar;
+    private int winCount;
+    private int defeatCount;
+    private int drawCount;
+    private int importo;
+
+    /**
+     * Costruttore di un profilo nuovo, senza partite giocate
+     * @param nickname Il nickname del giocatore
+     * @param avatar L'avatar scelto
+     * @param importo L'importo iniziale
+     */
+    public PlayerProfile(String nickname, int avatar, int importo) {
+        this(nickname, avatar, 0, 0, 0, importo);
+    }
+
+    PlayerProfile(String nickname, int avatar, int winCount, int defeatCount, int drawCount, int importo) {
+        this.nickname = nickname;
+        this.avatar = avatar;
+        this.winCount = winCount;
+        this.defeatCount = defeatCount;
+        this.drawCount = drawCount;
+        this.importo = importo;
+    }
+
+    /**
+     * Copia del profilo, da passare a un altro thread
+     * @return Un nuovo profilo con gli stessi valori
+     */
+    PlayerProfile copy() {
+        return new PlayerProfile(nickname, avatar, winCount, defeatCount, drawCount, importo);
+    }
+
+    /**
+     * Applica l'esito di un round
+     * @param result Il codice del risultato (Model.WIN, Model.LOSS o Model.PUSH)
+     * @param importo L'importo dopo il round
+     */
+    void applyRound(int result, int importo) {
+        switch (result) {
+            case Model.WIN:
+                winCount++;
+                break;
+            case Model.LOSS:
+                defeatCount++;
+                break;
+            case Model.PUSH:
+                drawCount++;
+                break;
+        }
+        this.importo = importo;
+    }
+
+    void setAvatar(int avatar) {
+        this.avatar = avatar;
+    }
+
+    public String getNickname() { return nickname; }
+
+    public int getAvatar() { return avatar; }
+
+    public int getWinCount() { return winCount; }
+
+    public int getDefeatCount() { return defeatCount; }
+
+    public int getDrawCount() { return drawCount; }
+
+    public int getImporto() { return importo; }
+}
@@ -0,0 +1,388 @@
+package persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32;
+
+/**
+ * Archivio persistente del profilo di un giocatore
+ * Ogni round concluso viene aggiunto a un log binario di record a lunghezza fissa, ciascuno con
+ * numero di sequenza e CRC32. Ogni COMPACT_EVERY record il profilo completo viene scritto in una
+ * fotografia (scritta su un file temporaneo e poi rinominata) e il log viene svuotato, quindi
+ * all'avvio si rilegge al massimo una fotografia e qualche migliaio di record.
+ * Le scritture avvengono su un thread dedicato: i record in coda vengono scritti insieme con una
+ * sola force, quindi l'EDT non attende mai il disco.
+ * Un record incompleto o con CRC errato (scrittura interrotta) chiude il log: viene scartato
+ * insieme a quelli successivi
+ */
+public final class ProfileStore implements Closeable {
+    // Proprietà di sistema con la cartella dei profili
+    public static final String DIR_PROPERTY = "blackjack.profileDir";
+
+    // Record del log dopo cui viene scritta una nuova fotografia
+    static final int COMPACT_EVERY = 4096;
+
+    // Record scritti al massimo con una sola force
+    private static final int MAX_BATCH = 256;
+
+    // Formato di un record: crc (4), sequenza (8), tipo (1), due valori (4 + 4)
+    private static final int RECORD_SIZE = 21;
+
+    // Tipi di record
+    private static final byte ROUND = 1;
+    private static final byte AVATAR = 2;
+
+    // Intestazione della fotografia
+    private static final int SNAPSHOT_MAGIC = 0x424A5053;
+    private static final int SNAPSHOT_FORMAT = 1;
+
+    // Tempo massimo di attesa delle scritture in coda alla chiusura
+    private static final long CLOSE_TIMEOUT_MILLIS = 2000;
+
+    // Marcatore di chiusura nella coda: dopo di esso non viene accodato nulla
+    private static final Entry CLOSE = new Entry((byte) 0, 0, 0);
+
+    private final Path logFile;
+    private final Path snapshotFile;
+
+    // Log aperto in scrittura, usato solo dal thread di scrittura dopo l'apertura
+    private final FileChannel log;
+
+    // Profilo ricostruito all'apertura
+    private final PlayerProfile recovered;
+
+    // Profilo aggiornato dal thread di scrittura, usato per le fotografie
+    private final PlayerProfile profile;
+
+    // Numero di sequenza dell'ultimo record scritto
+    private long sequence;
+
+    // Record scritti dall'ultima fotografia
+    private int sinceSnapshot;
+
+    private final LinkedBlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+
+    // false dopo un errore di scrittura o dopo la chiusura, che lo cambia sotto il lock dell'archivio
+    private volatile boolean enabled = true;
+
+    /**
+     * Apre il profilo di un giocatore nella cartella predefinita
+     * (la proprietà blackjack.profileDir, altrimenti .jblackjack nella home dell'utente)
+     * @param nickname Il nickname del giocatore
+     * @param avatar L'avatar usato se il profilo non esiste
+     * @param importo L'importo usato se il profilo non esiste
+     * @return L'archivio aperto
+     * @throws IOException Se la cartella o i file non sono accessibili
+     */
+    public static ProfileStore open(String nickname, int avatar, int importo) throws IOException {
+        return open(defaultDirectory(), nickname, avatar, importo);
+    }
+
+    /**
+     * Restituisce la cartella dei dati del gioco
+     * @return La proprietà blackjack.profileDir, altrimenti .jblackjack nella home dell'utente
+     */
+    static Path defaultDirectory() {
+        String dir = System.getProperty(DIR_PROPERTY);
+        return dir != null ? Paths.get(dir) : Paths.get(System.getProperty("user.home"), ".jblackjack");
+    }
+
+    /**
+     * Apre il profilo di un giocatore, ricostruendolo da fotografia e log
+     * @param dir La cartella dei profili
+     * @param nickname Il nickname del giocatore
+     * @param avatar L'avatar usato se il profilo non esiste
+     * @param importo L'importo usato se il profilo non esiste
+     * @return L'archivio aperto
+     * @throws IOException Se la cartella o i file non sono accessibili
+     */
+    public static ProfileStore open(Path dir, String nickname, int avatar, int importo) throws IOException {
+        Files.createDirectories(dir);
+        // Il nome dei file è il nickname in esadecimale, valido su ogni file system
+        String base = "profile-" + HexFormat.of().formatHex(nickname.getBytes(StandardCharsets.UTF_8));
+        return new ProfileStore(dir.resolve(base + ".log"), dir.resolve(base + ".snap"),
+                new PlayerProfile(nickname, avatar, importo));
+    }
+
+    private ProfileStore(Path logFile, Path snapshotFile, PlayerProfile initial) throws IOException {
+        this.logFile = logFile;
+        this.snapshotFile = snapshotFile;
+
+        PlayerProfile profile = initial;
+        if (Files.exists(snapshotFile)) {
+            PlayerProfile stored = readSnapshot(initial.getNickname());
+            if (stored != null) profile = stored;
+        }
+        this.profile = profile;
+
+        log = FileChannel.open(logFile, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        try {
+            long valid = replayLog();
+            // Scarta l'eventuale coda incompleta e riprende a scrivere da lì
+            log.truncate(valid);
+            log.position(valid);
+        } catch (IOException e) {
+            log.close();
+            throw e;
+        }
+        recovered = profile.copy();
+
+        writer = new Thread(this::writeLoop, "profile-store");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Restituisce il profilo ricostruito all'apertura
+     * @return Una copia del profilo
+     */
+    public PlayerProfile getProfile() {
+        return recovered.copy();
+    }
+
+    /**
+     * Accoda l'esito di un round; non blocca il chiamante
+     * @param result Il codice del risultato (Model.WIN, Model.LOSS o Model.PUSH)
+     * @param importo L'importo dopo il round
+     */
+    public void recordRound(int result, int importo) {
+        append(new Entry(ROUND, result, importo));
+    }
+
+    /**
+     * Accoda il cambio di avatar; non blocca il chiamante
+     * @param avatar Il nuovo avatar
+     */
+    public void recordAvatar(int avatar) {
+        append(new Entry(AVATAR, avatar, 0));
+    }
+
+    /**
+     * Accoda un record se l'archivio è ancora aperto; il lock impedisce che un record
+     * finisca in coda dopo il marcatore di chiusura, dove non verrebbe più scritto
+     * @param entry Il record
+     */
+    private synchronized void append(Entry entry) {
+        if (enabled) queue.add(entry);
+    }
+
+    /**
+     * Rifiuta i record successivi, scrive quelli già in coda e chiude il log,
+     * attendendo al massimo CLOSE_TIMEOUT_MILLIS
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (enabled) {
+                enabled = false;
+                queue.add(CLOSE);
+            }
+        }
+        try {
+            writer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Ciclo del thread di scrittura: attende un record, prende anche quelli già in coda
+     * e li scrive con una sola force
+     */
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>(MAX_BATCH);
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_BATCH * RECORD_SIZE);
+        CRC32 crc = new CRC32();
+        boolean closing = false;
+        try {
+            while (!closing) {
+                batch.clear();
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_BATCH - 1);
+
+                buffer.clear();
+                for (Entry entry : batch) {
+                    if (entry == CLOSE) {
+                        closing = true;
+                        continue;
+                    }
+                    apply(entry.type, entry.first, entry.second);
+                    putRecord(buffer, crc, ++sequence, entry);
+                    sinceSnapshot++;
+                }
+                buffer.flip();
+                if (buffer.hasRemaining()) {
+                    while (buffer.hasRemaining()) {
+                        log.write(buffer);
+                    }
+                    log.force(false);
+                }
+                if (sinceSnapshot >= COMPACT_EVERY) {
+                    compact();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Impossibile salvare il profilo in " + logFile + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            enabled = false;
+            try {
+                log.close();
+            } catch (IOException e) {
+                System.err.println("Impossibile chiudere " + logFile + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Scrive un record nel buffer
+     */
+    private static void putRecord(ByteBuffer buffer, CRC32 crc, long sequence, Entry entry) {
+        int start = buffer.position();
+        buffer.position(start + Integer.BYTES);
+        buffer.putLong(sequence).put(entry.type).putInt(entry.first).putInt(entry.second);
+        crc.reset();
+        crc.update(buffer.array(), start + Integer.BYTES, RECORD_SIZE - Integer.BYTES);
+        buffer.putInt(start, (int) crc.getValue());
+    }
+
+    /**
+     * Applica un record al profilo
+     */
+    private void apply(byte type, int first, int second) {
+        if (type == ROUND) {
+            profile.applyRound(first, second);
+        } else if (type == AVATAR) {
+            profile.setAvatar(first);
+        }
+    }
+
+    /**
+     * Rilegge il log applicando i record successivi alla fotografia
+     * @return La lunghezza della parte valida del log
+     * @throws IOException Se il log non è leggibile
+     */
+    private long replayLog() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 1024);
+        CRC32 crc = new CRC32();
+        long size = log.size();
+        long valid = 0;
+        // Una coda più corta di un record è una scrittura interrotta e non viene letta
+        while (size - valid >= RECORD_SIZE) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), (size - valid) / RECORD_SIZE * RECORD_SIZE));
+            while (buffer.hasRemaining()) {
+                if (log.read(buffer, valid + buffer.position()) < 0) break;
+            }
+            buffer.flip();
+            while (buffer.remaining() >= RECORD_SIZE) {
+                int start = buffer.position();
+                int stored = buffer.getInt();
+                crc.reset();
+                crc.update(buffer.array(), start + Integer.BYTES, RECORD_SIZE - Integer.BYTES);
+                if (stored != (int) crc.getValue()) {
+                    System.err.println("Record non valido in " + logFile + " alla posizione " + valid + ", log troncato");
+                    return valid;
+                }
+                long recordSequence = buffer.getLong();
+                byte type = buffer.get();
+                int first = buffer.getInt();
+                int second = buffer.getInt();
+                // I record già compresi nella fotografia vengono saltati
+                if (recordSequence > sequence) {
+                    apply(type, first, second);
+                    sequence = recordSequence;
+                }
+                sinceSnapshot++;
+                valid += RECORD_SIZE;
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Scrive una nuova fotografia del profilo e svuota il log
+     * @throws IOException Se la fotografia non può essere scritta
+     */
+    private void compact() throws IOException {
+        byte[] nickname = profile.getNickname().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 4 + 8 + 5 * 4 + 4 + nickname.length + 4);
+        buffer.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_FORMAT).putLong(sequence)
+                .putInt(profile.getAvatar()).putInt(profile.getWinCount()).putInt(profile.getDefeatCount())
+                .putInt(profile.getDrawCount()).putInt(profile.getImporto())
+                .putInt(nickname.length).put(nickname);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+        Files.move(temp, snapshotFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        // Se il processo si interrompe qui, i record del log hanno sequenza già coperta e vengono saltati
+        log.truncate(0);
+        log.force(true);
+        sinceSnapshot = 0;
+    }
+
+    /**
+     * Legge la fotografia del profilo
+     * @param nickname Il nickname atteso
+     * @return Il profilo, null se la fotografia non è valida
+     * @throws IOException Se il file non è leggibile
+     */
+    private PlayerProfile readSnapshot(String nickname) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshotFile));
+        int length = buffer.remaining();
+        if (length >= 4 + 4 + 8 + 5 * 4 + 4 + 4) {
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), 0, length - 4);
+            if (buffer.getInt(length - 4) == (int) crc.getValue()
+                    && buffer.getInt() == SNAPSHOT_MAGIC && buffer.getInt() == SNAPSHOT_FORMAT) {
+                long snapshotSequence = buffer.getLong();
+                PlayerProfile stored = new PlayerProfile(nickname, buffer.getInt(), buffer.getInt(),
+                        buffer.getInt(), buffer.getInt(), buffer.getInt());
+                sequence = snapshotSequence;
+                return stored;
+            }
+        }
+        System.err.println("Fotografia del profilo non valida: " + snapshotFile);
+        return null;
+    }
+
+    /**
+     * Record in attesa di essere scritto
+     */
+    private static final class Entry {
+        final byte type;
+        final int first;
+        final int second;
+
+        Entry(byte type, int first, int second) {
+            this.type = type;
+            this.first = first;
+            this.second = second;
+        }
+    }
+}
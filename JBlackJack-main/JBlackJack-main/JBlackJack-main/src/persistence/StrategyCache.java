@@ -0,0 +1,109 @@
+package persistence;
+
+import model.BasicStrategy;
+import model.Rules;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+/**
+ * Cache su file delle tabelle di strategia di base
+ * Ogni insieme di regole ha un file binario con intestazione, azioni, split e CRC32; se il file manca
+ * o non è valido la tabella viene ricalcolata e salvata
+ */
+public final class StrategyCache {
+    // Intestazione del file
+    private static final int MAGIC = 0x424A4253;
+    private static final int FORMAT = 3;
+
+    // Intestazione: magic, formato, mazzi, H17, dimensione della tabella
+    private static final int HEADER_SIZE = 4 + 4 + 4 + 1 + 4;
+
+    private StrategyCache() {
+    }
+
+    /**
+     * Carica la strategia dalla cartella dei dati del gioco, calcolandola se necessario
+     * @param rules Le regole del tavolo
+     * @return La strategia
+     */
+    public static BasicStrategy load(Rules rules) {
+        return load(ProfileStore.defaultDirectory(), rules);
+    }
+
+    /**
+     * Carica la strategia da una cartella, calcolandola e salvandola se il file manca o non è valido
+     * Un errore di scrittura non impedisce di restituire la strategia calcolata
+     * @param dir La cartella della cache
+     * @param rules Le regole del tavolo
+     * @return La strategia
+     */
+    public static BasicStrategy load(Path dir, Rules rules) {
+        Path file = dir.resolve("strategy-" + rules.getDecks() + (rules.dealerHitsSoft17() ? "-h17" : "-s17") + ".bin");
+        if (Files.exists(file)) {
+            try {
+                BasicStrategy cached = read(file, rules);
+                if (cached != null) return cached;
+                System.err.println("Tabella di strategia non valida, viene ricalcolata: " + file);
+            } catch (IOException e) {
+                System.err.println("Impossibile leggere " + file + ": " + e.getMessage());
+            }
+        }
+        BasicStrategy strategy = BasicStrategy.solve(rules);
+        try {
+            Files.createDirectories(dir);
+            write(file, strategy);
+        } catch (IOException e) {
+            System.err.println("Impossibile salvare " + file + ": " + e.getMessage());
+        }
+        return strategy;
+    }
+
+    /**
+     * Legge una tabella
+     * @param file Il file
+     * @param rules Le regole attese
+     * @return La strategia, null se il file non corrisponde alle regole o è danneggiato
+     * @throws IOException Se il file non è leggibile
+     */
+    private static BasicStrategy read(Path file, Rules rules) throws IOException {
+        byte[] data = Files.readAllBytes(file);
+        if (data.length != HEADER_SIZE + BasicStrategy.SIZE + 4) return null;
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - 4);
+        if (buffer.getInt(data.length - 4) != (int) crc.getValue()
+                || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT
+                || buffer.getInt() != rules.getDecks() || (buffer.get() != 0) != rules.dealerHitsSoft17()
+                || buffer.getInt() != BasicStrategy.SIZE) {
+            return null;
+        }
+        byte[] actions = new byte[BasicStrategy.SIZE];
+        buffer.get(actions);
+        return new BasicStrategy(rules, actions);
+    }
+
+    /**
+     * Scrive una tabella su un file temporaneo e lo rinomina
+     * @param file Il file
+     * @param strategy La strategia
+     * @throws IOException Se il file non può essere scritto
+     */
+    private static void write(Path file, BasicStrategy strategy) throws IOException {
+        Rules rules = strategy.getRules();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + BasicStrategy.SIZE + 4);
+        buffer.putInt(MAGIC).putInt(FORMAT).putInt(rules.getDecks()).put((byte) (rules.dealerHitsSoft17() ? 1 : 0))
+                .putInt(BasicStrategy.SIZE).put(strategy.getActions());
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, buffer.array());
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,149 @@
+package simulation;
+
+import model.CompiledStrategy;
+import model.Model;
+import model.Rules;
+import model.Shoe;
+import model.Strategy;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Esegue una simulazione Monte Carlo su tutti i core con fork/join
+ * I round vengono divisi in blocchi di dimensione fissa; ogni blocco ha un proprio flusso
+ * casuale derivato dal seme principale, quindi il risultato aggregato è identico
+ * qualunque sia il numero di thread
+ */
+public class MonteCarloRunner {
+    // Numero di round giocati da ogni blocco (l'ultimo può essere più corto)
+    public static final int DEFAULT_CHUNK_ROUNDS = 1 << 16;
+
+    // Sotto questo numero di blocchi un task non viene più diviso
+    private static final int SEQUENTIAL_CHUNKS = 1;
+
+    private final int seats;
+    private final int decks;
+    private final double penetration;
+    // Strategie dei posti, compilate una volta per tutti i blocchi
+    private final CompiledStrategy[] strategies;
+    private final int chunkRounds;
+    private final ForkJoinPool pool;
+
+    /**
+     * Costruttore del runner con il pool comune e il sabot del gioco (i mazzi di Rules.DEFAULT)
+     * @param seats Il numero di posti al tavolo
+     * @param strategies Le strategie dei posti
+     */
+    public MonteCarloRunner(int seats, Strategy... strategies) {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_ROUNDS, seats, Rules.DEFAULT.getDecks(), Shoe.DEFAULT_PENETRATION,
+                strategies);
+    }
+
+    /**
+     * Costruttore del runner
+     * @param pool Il pool fork/join su cui eseguire i blocchi
+     * @param chunkRounds Il numero di round per blocco
+     * @param seats Il numero di posti al tavolo
+     * @param decks Il numero di mazzi del sabot di ogni blocco
+     * @param penetration La penetrazione del sabot
+     * @param strategies Le strategie dei posti
+     * @throws IllegalArgumentException se i parametri non sono validi o il sabot è troppo piccolo per i posti
+     */
+    public MonteCarloRunner(ForkJoinPool pool, int chunkRounds, int seats, int decks, double penetration,
+            Strategy... strategies) {
+        if (chunkRounds <= 0) {
+            throw new IllegalArgumentException("Dimensione del blocco non valida: " + chunkRounds);
+        }
+        // I sabot vengono creati nei blocchi: parametri non validi vanno rifiutati qui, non in un thread del pool
+        if (seats < 1 || seats > SimulationEngine.MAX_SEATS) {
+            throw new IllegalArgumentException("Numero di posti non valido: " + seats);
+        }
+        if (decks < Shoe.MIN_DECKS || decks > Shoe.MAX_DECKS) {
+            throw new IllegalArgumentException("Numero di mazzi non valido: " + decks);
+        }
+        if (!(penetration > 0 && penetration <= 1)) {
+            throw new IllegalArgumentException("Penetrazione non valida: " + penetration);
+        }
+        if (seats > Model.maxSeats(decks)) {
+            throw new IllegalArgumentException("Troppi posti per il sabot: " + seats + ", al più " + Model.maxSeats(decks)
+                    + (decks == 1 ? " con un mazzo" : " con " + decks + " mazzi"));
+        }
+        this.pool = pool;
+        this.chunkRounds = chunkRounds;
+        this.seats = seats;
+        this.decks = decks;
+        this.penetration = penetration;
+        this.strategies = new CompiledStrategy[strategies.length];
+        for (int i = 0; i < strategies.length; i++) {
+            this.strategies[i] = strategies[i].compile();
+        }
+    }
+
+    /**
+     * Esegue la simulazione
+     * @param rounds Il numero totale di round
+     * @param masterSeed Il seme principale da cui derivano tutti i flussi
+     * @return Le statistiche aggregate
+     */
+    public SimulationStats run(long rounds, long masterSeed) {
+        int chunks = (int) Math.max(1, (rounds + chunkRounds - 1) / chunkRounds);
+
+        // I flussi sono derivati in sequenza dal seme principale: il blocco i riceve sempre lo stesso flusso
+        SplittableRandom master = new SplittableRandom(masterSeed);
+        SplittableRandom[] streams = new SplittableRandom[chunks];
+        for (int i = 0; i < chunks; i++) {
+            streams[i] = master.split();
+        }
+
+        return pool.invoke(new ChunkTask(streams, rounds, 0, chunks));
+    }
+
+    /**
+     * Gioca un singolo blocco con il suo flusso casuale e un sabot appena mescolato
+     * @param stream Il flusso del blocco
+     * @param rounds Il numero di round del blocco
+     * @return Le statistiche del blocco
+     */
+    private SimulationStats runChunk(SplittableRandom stream, long rounds) {
+        return new SimulationEngine(seats, new Shoe(decks, penetration, stream), strategies).run(rounds);
+    }
+
+    /**
+     * Task fork/join che gioca un intervallo di blocchi [from, to)
+     */
+    @SuppressWarnings("serial")
+    private class ChunkTask extends RecursiveTask<SimulationStats> {
+        private final SplittableRandom[] streams;
+        private final long totalRounds;
+        private final int from;
+        private final int to;
+
+        ChunkTask(SplittableRandom[] streams, long totalRounds, int from, int to) {
+            this.streams = streams;
+            this.totalRounds = totalRounds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (to - from <= SEQUENTIAL_CHUNKS) {
+                SimulationStats stats = new SimulationStats();
+                for (int i = from; i < to; i++) {
+                    long first = (long) i * chunkRounds;
+                    long rounds = Math.min(chunkRounds, totalRounds - first);
+                    stats.merge(runChunk(streams[i], rounds));
+                }
+                return stats;
+            }
+            int mid = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(streams, totalRounds, from, mid);
+            ChunkTask right = new ChunkTask(streams, totalRounds, mid, to);
+            left.fork();
+            SimulationStats rightStats = right.compute();
+            return left.join().merge(rightStats);
+        }
+    }
+}
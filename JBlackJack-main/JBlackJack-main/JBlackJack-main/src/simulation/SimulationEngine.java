@@ -0,0 +1,136 @@
+package simulation;
+
+import model.CompiledStrategy;
+import model.GameListener;
+import model.Model;
+import model.Rules;
+import model.Shoe;
+import model.ShoeView;
+import model.Strategy;
+import model.Table;
+
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * Motore di simulazione senza interfaccia grafica
+ * Gioca round consecutivi riusando la logica del Model (distribuzione, punteggi, turno del dealer)
+ * senza caricare classi AWT/Swing
+ */
+public class SimulationEngine {
+    // Numero massimo di posti supportati dal tavolo
+    public static final int MAX_SEATS = Table.MAX_SEATS;
+
+    // Il model riusato per tutti i round
+    private final Model model;
+
+    // Strategia compilata di ciascun posto
+    private final CompiledStrategy[] strategies;
+
+    // Statistiche accumulate
+    private final SimulationStats stats = new SimulationStats();
+
+    /**
+     * Costruttore del motore
+     * @param seats Il numero di posti al tavolo (da 1 a 7)
+     * @param strategies Le strategie dei posti; se meno dei posti, l'ultima viene ripetuta
+     */
+    public SimulationEngine(int seats, Strategy... strategies) {
+        this(seats, new Random(), strategies);
+    }
+
+    /**
+     * Costruttore del motore con un generatore casuale dedicato
+     * Il sabot ha i mazzi di Rules.DEFAULT, come il gioco
+     * @param seats Il numero di posti al tavolo (da 1 a 7)
+     * @param random Il generatore usato per mescolare il sabot
+     * @param strategies Le strategie dei posti; se meno dei posti, l'ultima viene ripetuta
+     */
+    public SimulationEngine(int seats, RandomGenerator random, Strategy... strategies) {
+        this(seats, new Shoe(Rules.DEFAULT.getDecks(), random), strategies);
+    }
+
+    /**
+     * Costruttore del motore con un sabot dedicato
+     * @param seats Il numero di posti al tavolo (da 1 a 7)
+     * @param shoe Il sabot da cui distribuire, persistente tra i round
+     * @param strategies Le strategie dei posti; se meno dei posti, l'ultima viene ripetuta
+     * @throws IllegalArgumentException se i posti non sono validi o il sabot è troppo piccolo (vedi Model.maxSeats)
+     */
+    public SimulationEngine(int seats, Shoe shoe, Strategy... strategies) {
+        if (seats < 1 || seats > MAX_SEATS) {
+            throw new IllegalArgumentException("Numero di posti non valido: " + seats);
+        }
+        if (strategies.length == 0) {
+            strategies = new Strategy[] { Strategy.DEALER_MIMIC };
+        }
+        this.model = new Model(seats, shoe);
+        this.strategies = new CompiledStrategy[seats];
+        for (int i = 0; i < seats; i++) {
+            this.strategies[i] = strategies[Math.min(i, strategies.length - 1)].compile();
+        }
+    }
+
+    /**
+     * Gioca il numero di round indicato
+     * @param rounds Il numero di round da giocare
+     * @return Le statistiche accumulate
+     */
+    public SimulationStats run(long rounds) {
+        for (long i = 0; i < rounds; i++) {
+            playRound();
+        }
+        return stats;
+    }
+
+    /**
+     * Gioca un singolo round: distribuzione, assicurazioni con un asso scoperto, controllo della carta
+     * nascosta, turni dei posti, turno del dealer e risultati
+     */
+    public void playRound() {
+        // True count al momento della puntata, nullo se il round parte da un sabot rimescolato
+        ShoeView shoe = model.getShoeView();
+        int bucket = CompiledStrategy.bucket(shoe.needsShuffle() ? 0 : shoe.getTrueCount());
+
+        model.startNewGame();
+
+        if (model.isInsuranceOffered()) {
+            int visible = CompiledStrategy.bucket(model.getVisibleTrueCount());
+            for (int seat = 0; seat < strategies.length; seat++) {
+                if (strategies[seat].takesInsurance(visible)) {
+                    model.takeInsurance(seat);
+                }
+            }
+            model.peek();
+        }
+
+        for (int seat = 0; seat < strategies.length; seat++) {
+            model.playSeat(seat, strategies[seat]);
+        }
+
+        model.dealerTurn();
+        model.settleRound();
+
+        for (int seat = 0; seat < strategies.length; seat++) {
+            stats.record(model.getResult(seat), model.getNet(seat), bucket);
+        }
+        stats.roundPlayed();
+    }
+
+    /**
+     * Registra un ascoltatore degli eventi dei round simulati
+     * Gli eventi arrivano sul thread che esegue la simulazione
+     * @param listener L'ascoltatore da aggiungere
+     */
+    public void addListener(GameListener listener) {
+        model.getEvents().addListener(listener);
+    }
+
+    /**
+     * Restituisce le statistiche accumulate
+     * @return Le statistiche
+     */
+    public SimulationStats getStats() {
+        return stats;
+    }
+}
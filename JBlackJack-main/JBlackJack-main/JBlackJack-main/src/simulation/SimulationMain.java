@@ -0,0 +1,78 @@
+package simulation;
+
+import model.BasicStrategy;
+import model.CompiledStrategy;
+import model.CountingStrategy;
+import model.RandomStrategy;
+import model.Rules;
+import model.Shoe;
+import model.Strategy;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Classe principale che avvia una simulazione da riga di comando
+ * Uso: SimulationMain [round] [posti] [seme] [thread] [mazzi] [strategia]
+ * Strategie: dealer-mimic (predefinita), basic, counting, random
+ */
+public class SimulationMain {
+
+    /**
+     * Metodo principale che avvia la simulazione
+     * 
+     * @param args round, posti, seme, thread, mazzi e strategia (opzionali)
+     */
+    public static void main(String[] args) {
+        long rounds = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000L;
+        int seats = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        int decks = args.length > 4 ? Integer.parseInt(args[4]) : Rules.DEFAULT.getDecks();
+        String strategyName = args.length > 5 ? args[5] : "dealer-mimic";
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        Strategy strategy = strategy(strategyName, new Rules(decks, false), pool, seed);
+        MonteCarloRunner runner = new MonteCarloRunner(pool, MonteCarloRunner.DEFAULT_CHUNK_ROUNDS, seats, decks,
+                Shoe.DEFAULT_PENETRATION, strategy);
+
+        long start = System.nanoTime();
+        SimulationStats stats = runner.run(rounds, seed);
+        pool.shutdown();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println(stats);
+        for (int bucket = 0; bucket < CompiledStrategy.BUCKETS; bucket++) {
+            if (stats.getHands(bucket) > 0) {
+                System.out.printf("true count %+d: mani=%d EV=%.5f%n", bucket + CompiledStrategy.MIN_COUNT,
+                        stats.getHands(bucket), stats.getExpectedValue(bucket));
+            }
+        }
+        System.out.printf("seme=%d thread=%d strategia=%s: %.2f s, %.0f round/s%n",
+                seed, threads, strategyName, seconds, rounds / seconds);
+    }
+
+    /**
+     * Restituisce la strategia con il nome indicato
+     * 
+     * @param name Il nome della strategia
+     * @param rules Le regole per cui calcolare la strategia di base
+     * @param pool Il pool su cui calcolarla
+     * @param seed Il seme della strategia casuale
+     * @return La strategia
+     */
+    private static Strategy strategy(String name, Rules rules, ForkJoinPool pool, long seed) {
+        switch (name) {
+            case "dealer-mimic":
+                return Strategy.DEALER_MIMIC;
+            case "basic":
+                return BasicStrategy.solve(rules, pool);
+            case "counting":
+                return new CountingStrategy(BasicStrategy.solve(rules, pool));
+            case "random":
+                return new RandomStrategy(new SplittableRandom(seed), 0.5);
+            default:
+                throw new IllegalArgumentException("Strategia non valida: " + name);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package simulation;
+
+import model.CompiledStrategy;
+import model.Model;
+
+/**
+ * Statistiche aggregate di una simulazione
+ * Ogni posto punta una unità per round; il saldo segue le vincite nette del Model (Model.getNet),
+ * con blackjack, raddoppi, split, resa e assicurazione, ed è tenuto in mezze unità per restare intero.
+ * Mani e saldo sono anche divisi per il true count di inizio round (vedi CompiledStrategy.bucket)
+ */
+public class SimulationStats {
+    // Numero di round giocati
+    private long rounds;
+    // Numero di mani giocate (round per posti)
+    private long hands;
+    // Esiti delle mani (segno della vincita netta del posto)
+    private long wins;
+    private long losses;
+    private long pushes;
+    // Saldo netto in mezze unità di puntata
+    private long bankroll;
+    // Mani e saldo per true count
+    private final long[] bucketHands = new long[CompiledStrategy.BUCKETS];
+    private final long[] bucketBankroll = new long[CompiledStrategy.BUCKETS];
+
+    /**
+     * Registra l'esito di una mano
+     * @param result Il codice del risultato (Model.WIN, Model.LOSS o Model.PUSH)
+     * @param net La vincita netta in mezze unità di puntata
+     * @param bucket L'indice del true count di inizio round
+     */
+    void record(int result, int net, int bucket) {
+        hands++;
+        bucketHands[bucket]++;
+        bankroll += net;
+        bucketBankroll[bucket] += net;
+        switch (result) {
+            case Model.WIN:
+                wins++;
+                break;
+            case Model.LOSS:
+                losses++;
+                break;
+            default:
+                pushes++;
+                break;
+        }
+    }
+
+    /**
+     * Registra la fine di un round
+     */
+    void roundPlayed() {
+        rounds++;
+    }
+
+    /**
+     * Somma le statistiche di un'altra simulazione a queste
+     * Tutti i campi sono contatori interi, quindi l'unione è esatta e non dipende dall'ordine
+     * @param other Le statistiche da aggiungere
+     * @return Queste statistiche, aggiornate
+     */
+    public SimulationStats merge(SimulationStats other) {
+        rounds += other.rounds;
+        hands += other.hands;
+        wins += other.wins;
+        losses += other.losses;
+        pushes += other.pushes;
+        bankroll += other.bankroll;
+        for (int bucket = 0; bucket < CompiledStrategy.BUCKETS; bucket++) {
+            bucketHands[bucket] += other.bucketHands[bucket];
+            bucketBankroll[bucket] += other.bucketBankroll[bucket];
+        }
+        return this;
+    }
+
+    public long getRounds() { return rounds; }
+    public long getHands() { return hands; }
+    public long getWins() { return wins; }
+    public long getLosses() { return losses; }
+    public long getPushes() { return pushes; }
+    /**
+     * @return Il saldo netto in unità di puntata
+     */
+    public double getBankroll() {
+        return bankroll / 2.0;
+    }
+
+    /**
+     * Restituisce il rendimento medio per mano (saldo / mani)
+     * @return Il rendimento atteso stimato
+     */
+    public double getExpectedValue() {
+        return hands == 0 ? 0 : bankroll / 2.0 / hands;
+    }
+
+    /**
+     * Restituisce il numero di mani giocate con un true count
+     * @param bucket L'indice del true count (vedi CompiledStrategy.bucket)
+     * @return Il numero di mani
+     */
+    public long getHands(int bucket) {
+        return bucketHands[bucket];
+    }
+
+    /**
+     * Restituisce il rendimento medio per mano con un true count
+     * @param bucket L'indice del true count (vedi CompiledStrategy.bucket)
+     * @return Il rendimento atteso stimato
+     */
+    public double getExpectedValue(int bucket) {
+        return bucketHands[bucket] == 0 ? 0 : bucketBankroll[bucket] / 2.0 / bucketHands[bucket];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("round=%d mani=%d vittorie=%d sconfitte=%d pareggi=%d saldo=%.1f EV=%.5f",
+                rounds, hands, wins, losses, pushes, getBankroll(), getExpectedValue());
+    }
+}
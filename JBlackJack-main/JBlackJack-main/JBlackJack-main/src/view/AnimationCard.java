@@ -2,7 +2,6 @@ package view;
 
 import model.Model;
 
-import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 
@@ -19,6 +18,19 @@ public abstract class AnimationCard {
     // Indica se la carta è visibile o meno
     protected boolean visible;
 
+    // Durata dello spostamento verso un nuovo target, in nanosecondi
+    public static final long MOVE_NANOS = 450_000_000L;
+
+    // Curva dello spostamento
+    private static final Easing EASING = Easing.EASE_OUT_CUBIC;
+
+    // Coordinate da cui è partito lo spostamento in corso
+    private float startX, startY;
+    // Nanosecondi trascorsi dall'inizio dello spostamento in corso
+    private long elapsed;
+    // true quando la carta è ferma sul target
+    private boolean settled;
+
     /**
      * Costruttore della classe AnimationCard
      * 
@@ -33,26 +45,60 @@ public abstract class AnimationCard {
         this.targetX = x;
         this.targetY = y;
         this.visible = false;
+        this.settled = true;
+    }
+
+    /**
+     * @return La carta animata
+     */
+    public Model.Card getCard() {
+        return card;
     }
 
     /**
      * Imposta le coordinate target
+     * Se il target cambia, parte un nuovo spostamento dalla posizione attuale
      * 
      * @param x La posizione target x
      * @param y La posizione target y
      */
     public void setTarget(float x, float y) {
+        if (x == targetX && y == targetY) return;
         this.targetX = x;
         this.targetY = y;
+        this.startX = this.x;
+        this.startY = this.y;
+        this.elapsed = 0;
+        this.settled = false;
+    }
+
+    /**
+     * Fa avanzare lo spostamento verso il target del tempo trascorso
+     * La posizione segue la curva di easing e arriva esattamente sul target allo scadere di MOVE_NANOS
+     * 
+     * @param elapsedNanos I nanosecondi trascorsi dall'aggiornamento precedente
+     * @return true se la carta si sta ancora muovendo
+     */
+    public boolean update(long elapsedNanos) {
+        if (settled) return false;
+        elapsed += elapsedNanos;
+        if (elapsed >= MOVE_NANOS) {
+            x = targetX;
+            y = targetY;
+            settled = true;
+            return false;
+        }
+        float progress = EASING.apply((float) elapsed / MOVE_NANOS);
+        x = startX + (targetX - startX) * progress;
+        y = startY + (targetY - startY) * progress;
+        return true;
     }
 
     /**
-     * Aggiorna la posizione attuale della carta avvicinandola alla posizione target
-     * La velocità di movimento dipende dalla distanza dalla posizione target
+     * @return true se la carta è ferma sul target
      */
-    public void update() {
-        x += (targetX - x) * 0.1f;
-        y += (targetY - y) * 0.1f;
+    public boolean isSettled() {
+        return settled;
     }
 
     /**
@@ -65,16 +111,23 @@ public abstract class AnimationCard {
     }
 
     /**
-     * Restituisce l'immagine della carta
+     * Restituisce l'immagine della carta dalla cache, già scalata alla dimensione della sottoclasse
      * 
      * @param faceUp true viene disegnata la carta, false viene disegnato il retro
      * @return L'immagine della carta
      */
     protected Image getCardImage(boolean faceUp) {
-        String imagePath = faceUp ? card.getImagePath() : "/BlackJack/resources/images/cards/BACK.png";
-        return new ImageIcon(getClass().getResource(imagePath)).getImage();
+        CardImages images = getCardImages();
+        return faceUp ? images.get(card.getOrdinal()) : images.back();
     }
 
+    /**
+     * Restituisce la cache delle immagini nella dimensione della sottoclasse
+     * 
+     * @return La cache delle immagini
+     */
+    protected abstract CardImages getCardImages();
+
     /**
      * Metodo astratto per disegnare la carta. Deve essere implementato nelle sottoclassi
      * 
@@ -83,14 +136,61 @@ public abstract class AnimationCard {
      */
     public abstract void draw(Graphics g, boolean faceUp);
 
+    /**
+     * Calcola il rettangolo occupato dalla carta sul pannello, rotazione compresa
+     * 
+     * @param bounds Il rettangolo in cui scrivere il risultato
+     * @return Lo stesso rettangolo bounds
+     */
+    public abstract Rectangle getBounds(Rectangle bounds);
+
+    /**
+     * Calcola il rettangolo che contiene un'immagine ruotata attorno a un punto,
+     * con un pixel di margine per l'arrotondamento e l'interpolazione
+     * 
+     * @param x La coordinata x dell'immagine prima della rotazione
+     * @param y La coordinata y dell'immagine prima della rotazione
+     * @param width La larghezza dell'immagine
+     * @param height L'altezza dell'immagine
+     * @param degrees L'angolo di rotazione in gradi
+     * @param centerX La coordinata x del centro di rotazione
+     * @param centerY La coordinata y del centro di rotazione
+     * @param bounds Il rettangolo in cui scrivere il risultato
+     * @return Lo stesso rettangolo bounds
+     */
+    protected static Rectangle rotatedBounds(int x, int y, int width, int height, int degrees,
+                                             double centerX, double centerY, Rectangle bounds) {
+        double theta = Math.toRadians(degrees);
+        double cos = Math.cos(theta);
+        double sin = Math.sin(theta);
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int corner = 0; corner < 4; corner++) {
+            double dx = x + ((corner & 1) == 0 ? 0 : width) - centerX;
+            double dy = y + ((corner & 2) == 0 ? 0 : height) - centerY;
+            double px = centerX + dx * cos - dy * sin;
+            double py = centerY + dx * sin + dy * cos;
+            minX = Math.min(minX, px);
+            minY = Math.min(minY, py);
+            maxX = Math.max(maxX, px);
+            maxY = Math.max(maxY, py);
+        }
+        int left = (int) Math.floor(minX) - 1;
+        int top = (int) Math.floor(minY) - 1;
+        bounds.setBounds(left, top, (int) Math.ceil(maxX) + 1 - left, (int) Math.ceil(maxY) + 1 - top);
+        return bounds;
+    }
+
     /**
      * Sottoclasse che rappresenta una carta animata con dimensioni predefinite
      */
     public static class NormalCard extends AnimationCard {
         // Larghezza della carta
-        private static final int CARD_WIDTH = 110;
+        public static final int CARD_WIDTH = 110;
         // Altezza della carta
-        private static final int CARD_HEIGHT = 154;
+        public static final int CARD_HEIGHT = 154;
+        // Immagini scalate a questa dimensione
+        private static CardImages images;
 
         /**
          * Costruttore della classe AnimatedCard1
@@ -103,46 +203,16 @@ public abstract class AnimationCard {
             super(card, x, y);
         }
 
-        /**
-         * Disegna la carta con dimensioni predefinite
-         * 
-         * @param g L'oggetto Graphics su cui disegnare
-         * @param faceUp true viene disegnata la carta, false viene disegnato il retro
-         */
         @Override
-        public void draw(Graphics g, boolean faceUp) {
-            if (!visible) return;
-            Image cardImage = getCardImage(faceUp);
-            g.drawImage(cardImage, (int) x, (int) y, CARD_WIDTH, CARD_HEIGHT, null);
-        }
-    }
-
-    /**
-     * Sottoclasse che rappresenta una carta animata più piccola e che può essere ruotata
-     */
-    public static class SmallerCard extends AnimationCard {
-        // Larghezza della carta
-        private static final int CARD_WIDTH = 78;
-        // Altezza della carta
-        private static final int CARD_HEIGHT = 110;
-        // Indica se la carta deve essere ruotata di 90 gradi
-        private boolean rotated;
-
-        /**
-         * Costruttore della classe AnimatedCard2
-         * 
-         * @param card La carta del modello associata a questa animazione
-         * @param x La posizione iniziale x
-         * @param y La posizione iniziale y
-         * @param rotated Se true, la carta verrà disegnata ruotata di 90 gradi
-         */
-        public SmallerCard(Model.Card card, float x, float y, boolean rotated) {
-            super(card, x, y);
-            this.rotated = rotated;
+        protected CardImages getCardImages() {
+            if (images == null) {
+                images = CardImages.forSize(CARD_WIDTH, CARD_HEIGHT);
+            }
+            return images;
         }
 
         /**
-         * Disegna la carta con dimensioni ridotte e, se specificato, ruotata di 90 gradi
+         * Disegna la carta con dimensioni predefinite
          * 
          * @param g L'oggetto Graphics su cui disegnare
          * @param faceUp true viene disegnata la carta, false viene disegnato il retro
@@ -151,16 +221,13 @@ public abstract class AnimationCard {
         public void draw(Graphics g, boolean faceUp) {
             if (!visible) return;
             Image cardImage = getCardImage(faceUp);
-            Graphics2D g2d = (Graphics2D) g;
+            g.drawImage(cardImage, (int) x, (int) y, null);
+        }
 
-            if (rotated) {
-                AffineTransform originalTransform = g2d.getTransform();
-                g2d.rotate(Math.toRadians(90), x + CARD_HEIGHT / 2, y + CARD_WIDTH / 2);
-                g2d.drawImage(cardImage, (int) x, (int) y, CARD_WIDTH, CARD_HEIGHT, null);
-                g2d.setTransform(originalTransform);
-            } else {
-                g2d.drawImage(cardImage, (int) x, (int) y, CARD_WIDTH, CARD_HEIGHT, null);
-            }
+        @Override
+        public Rectangle getBounds(Rectangle bounds) {
+            bounds.setBounds((int) x, (int) y, CARD_WIDTH, CARD_HEIGHT);
+            return bounds;
         }
     }
 
@@ -169,9 +236,11 @@ public abstract class AnimationCard {
      */
     public static class RotationCard extends AnimationCard {
         // Larghezza della carta
-        private static final int CARD_WIDTH = 78;
+        public static final int CARD_WIDTH = 78;
         // Altezza della carta
-        private static final int CARD_HEIGHT = 110;
+        public static final int CARD_HEIGHT = 110;
+        // Immagini scalate a questa dimensione
+        private static CardImages images;
         // Indica se la carta deve essere ruotata
         private boolean rotated;
         // Angolo di rotazione della carta in gradi
@@ -192,6 +261,14 @@ public abstract class AnimationCard {
             this.rotationDegrees = rotationDegrees;
         }
 
+        @Override
+        protected CardImages getCardImages() {
+            if (images == null) {
+                images = CardImages.forSize(CARD_WIDTH, CARD_HEIGHT);
+            }
+            return images;
+        }
+
         /**
          * Disegna la carta con dimensioni ridotte e, se specificato, ruotata dell'angolo specificato
          * 
@@ -207,11 +284,21 @@ public abstract class AnimationCard {
             if (rotated) {
                 AffineTransform originalTransform = g2d.getTransform();
                 g2d.rotate(Math.toRadians(rotationDegrees), x + CARD_HEIGHT / 2, y + CARD_WIDTH / 2);
-                g2d.drawImage(cardImage, (int) x, (int) y, CARD_WIDTH, CARD_HEIGHT, null);
+                g2d.drawImage(cardImage, (int) x, (int) y, null);
                 g2d.setTransform(originalTransform);
             } else {
-                g2d.drawImage(cardImage, (int) x, (int) y, CARD_WIDTH, CARD_HEIGHT, null);
+                g2d.drawImage(cardImage, (int) x, (int) y, null);
+            }
+        }
+
+        @Override
+        public Rectangle getBounds(Rectangle bounds) {
+            if (!rotated) {
+                bounds.setBounds((int) x, (int) y, CARD_WIDTH, CARD_HEIGHT);
+                return bounds;
             }
+            return rotatedBounds((int) x, (int) y, CARD_WIDTH, CARD_HEIGHT, rotationDegrees,
+                    x + CARD_HEIGHT / 2, y + CARD_WIDTH / 2, bounds);
         }
     }
 }
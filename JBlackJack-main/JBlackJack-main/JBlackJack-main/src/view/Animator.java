@@ -0,0 +1,71 @@
+package view;
+
+import javax.swing.*;
+
+/**
+ * Scheduler delle animazioni
+ * Un solo Timer Swing che a ogni tick passa all'animazione il tempo trascorso in nanosecondi,
+ * così la velocità non dipende dal ritardo del timer; si ferma da solo quando non si muove più nulla
+ */
+public final class Animator {
+
+    /**
+     * Animazione guidata dall'Animator
+     */
+    @FunctionalInterface
+    public interface Animation {
+        /**
+         * Fa avanzare l'animazione
+         *
+         * @param elapsedNanos I nanosecondi trascorsi dal tick precedente
+         * @return true se qualcosa si sta ancora muovendo
+         */
+        boolean advance(long elapsedNanos);
+    }
+
+    private final Timer timer;
+    private final Animation animation;
+    // Istante dell'ultimo tick, in nanosecondi
+    private long lastTick;
+
+    /**
+     * Costruttore
+     *
+     * @param delayMillis L'intervallo tra due tick in millisecondi
+     * @param animation L'animazione da far avanzare
+     */
+    public Animator(int delayMillis, Animation animation) {
+        this.animation = animation;
+        this.timer = new Timer(delayMillis, e -> tick());
+        this.timer.setCoalesce(true);
+    }
+
+    /**
+     * Avvia i tick se sono fermi; il tempo trascorso riparte da ora
+     */
+    public void start() {
+        if (!timer.isRunning()) {
+            lastTick = System.nanoTime();
+            timer.start();
+        }
+    }
+
+    /**
+     * @return true se l'Animator sta facendo avanzare l'animazione
+     */
+    public boolean isRunning() {
+        return timer.isRunning();
+    }
+
+    /**
+     * Un tick: passa il tempo trascorso all'animazione e si ferma se è terminata
+     */
+    private void tick() {
+        long now = System.nanoTime();
+        long elapsed = now - lastTick;
+        lastTick = now;
+        if (!animation.advance(elapsed)) {
+            timer.stop();
+        }
+    }
+}
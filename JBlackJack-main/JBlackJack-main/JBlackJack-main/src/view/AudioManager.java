@@ -1,51 +1,225 @@
 package view;
-import java.io.BufferedInputStream;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import javax.sound.sampled.AudioFormat;
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.Clip;
 import javax.sound.sampled.LineUnavailableException;
 import javax.sound.sampled.UnsupportedAudioFileException;
 
+/**
+ * Gestore degli effetti sonori
+ * Ogni effetto viene letto dal classpath e decodificato una sola volta; per ciascuno si tiene
+ * un piccolo insieme di Clip riutilizzabili. Le riproduzioni avvengono su un thread dedicato,
+ * quindi non bloccano l'EDT, e il numero di suoni simultanei è limitato
+ */
 public class AudioManager {
 
-	private static AudioManager instance;
+	// Effetti precaricati all'avvio
+	private static final String[] PRELOADED = {
+		"/BlackJack/resources/audio/card.wav",
+		"/BlackJack/resources/audio/click.wav",
+		"/BlackJack/resources/audio/click2.wav"
+	};
+
+	// Clip disponibili per ogni effetto
+	private static final int VOICES_PER_EFFECT = 3;
+
+	// Suoni che possono essere riprodotti contemporaneamente
+	private static final int MAX_VOICES = 6;
+
+	// Effetti caricati, indicizzati per percorso; gli effetti non disponibili restano come Effect vuoti
+	private final Map<String, Effect> effects = new ConcurrentHashMap<>();
+
+	// Thread su cui vengono aperti e avviati i Clip
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "audio");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	// false se il sistema non ha una linea audio utilizzabile
+	private volatile boolean enabled = true;
 
-	Clip clip;
+	/**
+	 * Inizializzazione pigra e thread-safe dell'istanza
+	 */
+	private static class Holder {
+		private static final AudioManager INSTANCE = new AudioManager();
+	}
 
 	public static AudioManager getInstance() {
-		if (instance == null)
-			instance = new AudioManager();
-		return instance;
+		return Holder.INSTANCE;
 	}
 
 	private AudioManager() {
+		executor.execute(() -> {
+			for (String path : PRELOADED) {
+				effect(path);
+			}
+		});
+	}
+
+	/**
+	 * Riproduce un effetto senza bloccare il chiamante
+	 * Se tutte le voci sono occupate il suono viene scartato
+	 *
+	 * @param path Il percorso della risorsa nel classpath
+	 */
+	public void play(String path) {
+		if (!enabled) return;
+		executor.execute(() -> {
+			if (!enabled || runningVoices() >= MAX_VOICES) return;
+			effect(path).play();
+		});
+	}
+
+	/**
+	 * Restituisce l'effetto di un percorso, caricandolo alla prima richiesta
+	 * Va chiamato solo dal thread audio
+	 *
+	 * @param path Il percorso della risorsa
+	 * @return L'effetto, vuoto se non è stato possibile caricarlo
+	 */
+	private Effect effect(String path) {
+		return effects.computeIfAbsent(path, this::load);
+	}
+
+	/**
+	 * Legge e decodifica un effetto in memoria
+	 *
+	 * @param path Il percorso della risorsa
+	 * @return L'effetto caricato, oppure un effetto vuoto in caso di errore
+	 */
+	private Effect load(String path) {
+		InputStream resource = AudioManager.class.getResourceAsStream(path);
+		if (resource == null) {
+			System.err.println("Effetto sonoro non trovato: " + path);
+			return new Effect(null, null);
+		}
+		try (AudioInputStream audioIn = AudioSystem.getAudioInputStream(new BufferedInputStream(resource))) {
+			ByteArrayOutputStream data = new ByteArrayOutputStream();
+			audioIn.transferTo(data);
+			return new Effect(audioIn.getFormat(), data.toByteArray());
+		} catch (IOException | UnsupportedAudioFileException e) {
+			System.err.println("Impossibile leggere l'effetto sonoro " + path + ": " + e.getMessage());
+			return new Effect(null, null);
+		}
+	}
 
+	/**
+	 * Conta i Clip in riproduzione, su tutti gli effetti
+	 *
+	 * @return Il numero di voci attive
+	 */
+	private int runningVoices() {
+		int running = 0;
+		for (Effect effect : effects.values()) {
+			running += effect.running();
+		}
+		return running;
+	}
+
+	/**
+	 * Conta i Clip aperti, su tutti gli effetti
+	 *
+	 * @return Il numero di Clip aperti
+	 */
+	private int openClips() {
+		int open = 0;
+		for (Effect effect : effects.values()) {
+			open += effect.opened;
+		}
+		return open;
 	}
 
-	public void play(String filename) {
+	/**
+	 * Effetto sonoro decodificato con il suo insieme di Clip
+	 */
+	private class Effect {
+		private final AudioFormat format;
+		private final byte[] data;
+		// I Clip aperti occupano le prime opened posizioni
+		private final Clip[] clips = new Clip[VOICES_PER_EFFECT];
+		private int opened;
+		// true dopo un'apertura fallita: si continua con i Clip già aperti
+		private boolean exhausted;
+		// Prossimo Clip da riutilizzare se sono tutti occupati
+		private int next;
 
-		try {
-			InputStream in = new BufferedInputStream(new FileInputStream(filename));
-			AudioInputStream audioIn = AudioSystem.getAudioInputStream(in);
-			Clip clip1 = AudioSystem.getClip();
-			this.clip = clip1;
-			clip.open(audioIn);
+		Effect(AudioFormat format, byte[] data) {
+			this.format = format;
+			this.data = data;
+		}
+
+		/**
+		 * Riproduce l'effetto su un Clip libero, aprendone uno nuovo se necessario
+		 * Se tutti i Clip sono occupati (o non se ne possono aprire altri) riparte il più vecchio
+		 */
+		void play() {
+			if (data == null) return;
+			Clip clip = null;
+			for (int i = 0; i < opened && clip == null; i++) {
+				if (!clips[i].isRunning()) {
+					clip = clips[i];
+				}
+			}
+			if (clip == null && opened < clips.length && !exhausted) {
+				clip = open();
+				if (clip != null) {
+					clips[opened++] = clip;
+				} else {
+					exhausted = true;
+				}
+			}
+			if (clip == null) {
+				if (opened == 0) return;
+				clip = clips[next % opened];
+				next = (next + 1) % opened;
+				clip.stop();
+			}
+			clip.setFramePosition(0);
 			clip.start();
-		} catch (FileNotFoundException e1) {
-			e1.printStackTrace();
-		} catch (IOException e1) {
-			e1.printStackTrace();
-		} catch (UnsupportedAudioFileException e1) {
-			e1.printStackTrace();
-		} catch (LineUnavailableException e1) {
-			e1.printStackTrace();
+		}
+
+		/**
+		 * Apre un nuovo Clip con i dati dell'effetto
+		 * Un errore fa saltare solo questo Clip; se non c'è nessun Clip aperto l'audio viene disattivato
+		 *
+		 * @return Il Clip aperto, null se non è stato possibile aprirlo
+		 */
+		private Clip open() {
+			try {
+				Clip clip = AudioSystem.getClip();
+				clip.open(format, data, 0, data.length);
+				return clip;
+			} catch (LineUnavailableException | IllegalArgumentException e) {
+				System.err.println("Audio non disponibile: " + e.getMessage());
+				if (openClips() == 0) {
+					enabled = false;
+				}
+				return null;
+			}
+		}
+
+		/**
+		 * @return Il numero di Clip di questo effetto in riproduzione
+		 */
+		int running() {
+			int running = 0;
+			for (int i = 0; i < opened; i++) {
+				if (clips[i].isRunning()) running++;
+			}
+			return running;
 		}
 	}
 }
-
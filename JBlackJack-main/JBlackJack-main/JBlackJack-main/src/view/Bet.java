@@ -14,6 +14,7 @@ import java.util.stream.IntStream;
 /**
  * Interfaccia per puntare.
  */
+@SuppressWarnings("serial")
 public class Bet extends JPanel {
 
     // importo attuale
@@ -173,6 +174,7 @@ public class Bet extends JPanel {
     /**
      * Classe interna CircularButton che rappresenta un pulsante circolare
      */
+    @SuppressWarnings("serial")
     public class CircularButton extends JButton {
         public CircularButton(Icon icon) {
             super(icon);
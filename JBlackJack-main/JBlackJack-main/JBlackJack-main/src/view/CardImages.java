@@ -0,0 +1,157 @@
+package view;
+
+import model.Cards;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cache condivisa delle immagini delle carte
+ * Le 52 facce e il retro vengono decodificati una sola volta e pre-scalati, per ogni dimensione
+ * richiesta, in immagini compatibili con lo schermo (accelerate dove possibile).
+ * Durante il disegno si restituisce solo un riferimento, senza allocazioni né scalature
+ */
+public final class CardImages {
+    // Indice del retro della carta, dopo le 52 facce
+    public static final int BACK = Cards.DECK_SIZE;
+
+    // Percorso dell'immagine del retro
+    private static final String BACK_PATH = "/BlackJack/resources/images/cards/BACK.png";
+
+    // Immagini originali decodificate, caricate al primo utilizzo
+    private static BufferedImage[] sources;
+
+    // Cache già create, una per dimensione
+    private static final List<CardImages> CACHES = new ArrayList<>();
+
+    // Dimensione delle immagini di questa cache
+    private final int width;
+    private final int height;
+
+    // Immagini scalate: le 52 facce e il retro
+    private final Image[] images = new Image[BACK + 1];
+
+    /**
+     * Costruttore privato: le cache si ottengono con forSize
+     * 
+     * @param width La larghezza delle carte
+     * @param height L'altezza delle carte
+     */
+    private CardImages(int width, int height) {
+        this.width = width;
+        this.height = height;
+        BufferedImage[] originals = sources();
+        for (int i = 0; i < images.length; i++) {
+            images[i] = scale(originals[i], width, height);
+        }
+    }
+
+    /**
+     * Restituisce la cache per una dimensione, creandola alla prima richiesta
+     * 
+     * @param width La larghezza delle carte
+     * @param height L'altezza delle carte
+     * @return La cache delle immagini
+     */
+    public static synchronized CardImages forSize(int width, int height) {
+        for (CardImages cache : CACHES) {
+            if (cache.width == width && cache.height == height) {
+                return cache;
+            }
+        }
+        CardImages cache = new CardImages(width, height);
+        CACHES.add(cache);
+        return cache;
+    }
+
+    /**
+     * Restituisce l'immagine di una carta
+     * 
+     * @param card La carta codificata (vedi Cards), oppure BACK
+     * @return L'immagine già scalata
+     */
+    public Image get(int card) {
+        return images[card];
+    }
+
+    /**
+     * Restituisce l'immagine del retro
+     * 
+     * @return L'immagine già scalata
+     */
+    public Image back() {
+        return images[BACK];
+    }
+
+    /**
+     * Decodifica le immagini originali, una sola volta
+     * 
+     * @return Le 52 facce e il retro
+     */
+    private static BufferedImage[] sources() {
+        if (sources == null) {
+            BufferedImage[] loaded = new BufferedImage[BACK + 1];
+            for (int card = 0; card < Cards.DECK_SIZE; card++) {
+                loaded[card] = load(Cards.imagePath(card));
+            }
+            loaded[BACK] = load(BACK_PATH);
+            sources = loaded;
+        }
+        return sources;
+    }
+
+    /**
+     * Decodifica un'immagine dal classpath
+     * 
+     * @param path Il percorso della risorsa
+     * @return L'immagine decodificata
+     */
+    private static BufferedImage load(String path) {
+        try (InputStream in = CardImages.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException("Immagine non trovata: " + path);
+            }
+            return ImageIO.read(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Impossibile leggere l'immagine " + path, e);
+        }
+    }
+
+    /**
+     * Scala un'immagine in una nuova immagine compatibile con lo schermo
+     * 
+     * @param source L'immagine originale
+     * @param width La larghezza finale
+     * @param height L'altezza finale
+     * @return L'immagine scalata
+     */
+    private static Image scale(BufferedImage source, int width, int height) {
+        BufferedImage scaled = createCompatibleImage(width, height);
+        Graphics2D g2d = scaled.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.drawImage(source, 0, 0, width, height, null);
+        g2d.dispose();
+        return scaled;
+    }
+
+    /**
+     * Crea un'immagine trasparente nel formato dello schermo, o ARGB se non c'è uno schermo
+     * 
+     * @param width La larghezza
+     * @param height L'altezza
+     * @return L'immagine vuota
+     */
+    static BufferedImage createCompatibleImage(int width, int height) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDefaultConfiguration().createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+}
@@ -0,0 +1,42 @@
+package view;
+
+/**
+ * Curve di easing per le animazioni
+ * Ogni curva trasforma l'avanzamento lineare t, tra 0 e 1, nella frazione di percorso compiuta
+ */
+public enum Easing {
+    // Velocità costante
+    LINEAR {
+        @Override
+        public float apply(float t) {
+            return t;
+        }
+    },
+    // Parte veloce e rallenta all'arrivo
+    EASE_OUT_CUBIC {
+        @Override
+        public float apply(float t) {
+            float u = 1 - t;
+            return 1 - u * u * u;
+        }
+    },
+    // Accelera all'inizio e rallenta all'arrivo
+    EASE_IN_OUT_CUBIC {
+        @Override
+        public float apply(float t) {
+            if (t < 0.5f) {
+                return 4 * t * t * t;
+            }
+            float u = -2 * t + 2;
+            return 1 - u * u * u / 2;
+        }
+    };
+
+    /**
+     * Applica la curva
+     *
+     * @param t L'avanzamento lineare, tra 0 e 1
+     * @return La frazione di percorso compiuta, 0 per t = 0 e 1 per t = 1
+     */
+    public abstract float apply(float t);
+}
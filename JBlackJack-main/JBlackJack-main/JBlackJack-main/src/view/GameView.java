@@ -1,6 +1,8 @@
 package view;
 
+import model.GameListener;
 import model.Model;
+import model.RoundSnapshot;
 
 
 import java.awt.event.ActionListener;
@@ -8,7 +10,7 @@ import javax.swing.*;
 
 /**
  * Interfaccia che rappresenta una view del gioco
- * Fornisce metodi per la creaizone dei pulsanti "Hit" e "Stay"
+ * Fornisce metodi per la creaizone dei pulsanti "Hit", "Stay", "Double", "Split", "Surrender" e "Insurance"
  * aggiornare la view con il modello del gioco e gestire gli events
  */
 public interface GameView {
@@ -26,10 +28,41 @@ public interface GameView {
     JButton getStayButton();
 
     /**
-     * Aggiorna la vista con i dati forniti dal modello del gioco
-     * @param model Il modello del gioco da visualizzare
+     * Restituisce il pulsante per raddoppiare la puntata
+     * @return JButton associato all'azione "Double"
      */
-    void updateView(Model model);
+    JButton getDoubleButton();
+
+    /**
+     * Restituisce il pulsante per dividere una coppia
+     * @return JButton associato all'azione "Split"
+     */
+    JButton getSplitButton();
+
+    /**
+     * Restituisce il pulsante per arrendersi
+     * @return JButton associato all'azione "Surrender"
+     */
+    JButton getSurrenderButton();
+
+    /**
+     * Restituisce il pulsante per prendere l'assicurazione
+     * @return JButton associato all'azione "Insurance"
+     */
+    JButton getInsuranceButton();
+
+    /**
+     * Aggiorna la vista con una fotografia del round; va chiamato sull'EDT
+     * @param snapshot La fotografia immutabile del round da visualizzare
+     */
+    void updateView(RoundSnapshot snapshot);
+
+    /**
+     * Restituisce l'ascoltatore che porta sulla vista gli eventi del round, una carta alla volta;
+     * va registrato sul GameEventBus del model e può essere chiamato da qualsiasi thread
+     * @return L'ascoltatore della vista
+     */
+    GameListener getGameListener();
 
     /**
      * Aggiunge un listener a "Hit"
@@ -47,6 +80,38 @@ public interface GameView {
         getStayButton().addActionListener(listener);
     }
 
+    /**
+     * Aggiunge un listener a "Double"
+     * @param listener ActionListener da associare al pulsante "Double"
+     */
+    default public void addDoubleButtonListener(ActionListener listener) {
+        getDoubleButton().addActionListener(listener);
+    }
+
+    /**
+     * Aggiunge un listener a "Split"
+     * @param listener ActionListener da associare al pulsante "Split"
+     */
+    default public void addSplitButtonListener(ActionListener listener) {
+        getSplitButton().addActionListener(listener);
+    }
+
+    /**
+     * Aggiunge un listener a "Surrender"
+     * @param listener ActionListener da associare al pulsante "Surrender"
+     */
+    default public void addSurrenderButtonListener(ActionListener listener) {
+        getSurrenderButton().addActionListener(listener);
+    }
+
+    /**
+     * Aggiunge un listener a "Insurance"
+     * @param listener ActionListener da associare al pulsante "Insurance"
+     */
+    default public void addInsuranceButtonListener(ActionListener listener) {
+        getInsuranceButton().addActionListener(listener);
+    }
+
     /**
      * Abilita o disabilita  "Hit"
      * @param enabled 
@@ -63,6 +128,19 @@ public interface GameView {
         getStayButton().setEnabled(enabled);
     }
 
+    /**
+     * Abilita i pulsanti delle azioni disponibili e disabilita gli altri
+     * @param options Una combinazione delle costanti Model.OPTION_*
+     */
+    default public void setOptions(int options) {
+        getHitButton().setEnabled((options & Model.OPTION_HIT) != 0);
+        getStayButton().setEnabled((options & Model.OPTION_STAND) != 0);
+        getDoubleButton().setEnabled((options & Model.OPTION_DOUBLE) != 0);
+        getSplitButton().setEnabled((options & Model.OPTION_SPLIT) != 0);
+        getSurrenderButton().setEnabled((options & Model.OPTION_SURRENDER) != 0);
+        getInsuranceButton().setEnabled((options & Model.OPTION_INSURANCE) != 0);
+    }
+
     /**
      * Crea un pulsante con il testo (che sarà hit o stay)
      * @param text Il testo da visualizzare sul pulsante
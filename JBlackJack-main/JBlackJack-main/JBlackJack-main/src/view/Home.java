@@ -10,6 +10,7 @@ import java.awt.event.ActionListener;
 /**
  * Schermata Home
  */
+@SuppressWarnings("serial")
 public class Home extends JPanel {
 
     private String nickname;
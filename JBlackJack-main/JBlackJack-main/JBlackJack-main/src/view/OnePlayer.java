@@ -1,425 +0,0 @@
-package view;
-
-import controller.Controller;
-
-import model.Model;
-
-import javax.swing.*;
-import java.awt.*;
-import java.awt.event.ActionListener;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Observer;
-
-/**
- * BlackJack con un solo giocatore
- */
-public class OnePlayer extends JPanel implements GameView, Observer {
-
-    private static final int CARD_WIDTH = 110;
-
-    public GamePanel gamePanel;
-
-    private JPanel buttonPanel;
-    private JButton hitButton;
-    private JButton stayButton;
-
-    private boolean gameEnded = false;
-    
-    
-    private int result;
-
-    /**
-     * Costruttore
-     * Inizializza il pannello
-     */
-    public OnePlayer() {
-        initializePanel();
-    }
-
-    /**
-     * nel pannello viene settato lo sfondo, il gamePanel e il buttonPanel
-     */
-    private void initializePanel() {
-        setLayout(new BorderLayout());
-        setBackground(Controller.BACKGROUND_COLOR);
-
-        gamePanel = new GamePanel();
-        add(gamePanel, BorderLayout.CENTER);
-
-        buttonPanel = createButtonPanel();
-        add(buttonPanel, BorderLayout.SOUTH);
-    }
-
-    /**
-     * Crea e restituisce il pannello dei bottoni
-     *
-     * @return Il pannello dei bottoni per chiedere la carta o rimanere
-     */
-    private JPanel createButtonPanel() {
-        JPanel panel = new JPanel();
-        panel.setBackground(new Color(53, 101, 77));
-
-        hitButton = createButton("Hit");
-        stayButton = createButton("Stay");
-
-        panel.add(hitButton);
-        panel.add(stayButton);
-
-        return panel;
-    }
-
-    /**
-     * Crea un bottone
-     *
-     * @param text sul bottone
-     * @return il bottone
-     */
-    public JButton createButton(String text) {
-        JButton button = new JButton(text);
-        button.setPreferredSize(new Dimension(100, 30));
-        return button;
-    }
-
-    @Override
-    public JButton getHitButton() {
-        return hitButton;
-    }
-
-    @Override
-    public JButton getStayButton() {
-        return stayButton;
-    }
-
-    /**
-     * Restituisce il risultato della partita
-     *
-     * @return Il risultato 
-     */
-    public int getResult() {
-        return result;
-    }
-
-    /**
-     * Classe interna: il GamePanel
-     */
-    public class GamePanel extends JPanel {
-
-        private Model model;
-        private JButton homeButton;
-        private List<AnimationCard.NormalCard> playerCards;
-        private List<AnimationCard.NormalCard> dealerCards;
-        private Timer animationTimer;
-        private boolean dealerCardsInitialized = false;
-
-        /**
-         * Costruttore della classe GamePanel
-         * Inizializza le liste di carte
-         */
-        public GamePanel() {
-            playerCards = new ArrayList<>();
-            dealerCards = new ArrayList<>();
-            initializePanel();
-        }
-
-        /**
-         * Inizializza il pannello di gioco
-         */
-        private void initializePanel() {
-            setLayout(null);
-
-            homeButton = new JButton("Home");
-            homeButton.setBounds(getHomeButtonBounds());
-            homeButton.setVisible(false);
-            add(homeButton);
-
-            animationTimer = new Timer(16, e -> updateAnimations());
-        }
-
-        /**
-         * Restituisce le coordinate e le dimensioni del bottone "Home"
-         *
-         * @return Un rettangolo che rappresenta le coordinate e la dimensione del bottone "Home"
-         */
-        private Rectangle getHomeButtonBounds() {
-            int width = 100;
-            int height = 30;
-            int x = (Controller.BOARD_WIDTH - width) / 2;
-            int y = (Controller.BOARD_HEIGHT - height) / 2 + 20;
-            return new Rectangle(x, y, width, height);
-        }
-
-        /**
-         * Aggiorna le animazioni delle carte
-         */
-        private void updateAnimations() {
-            updatePlayerCardPositions();
-            if (dealerCardsInitialized) {
-                updateDealerCardPositions();
-            }
-            repaint();
-        }
-
-        /**
-         * Imposta il modello del gioco e inizializza le carte
-         *
-         * @param model Il modello del gioco da utilizzare
-         */
-        public void setModel(Model model) {
-            this.model = model;
-            updatePlayerCardList(model.getPlayerHand());
-            if (!dealerCardsInitialized) {
-                initializeDealerCards(model.getDealerHand(), model.getHiddenCard());
-                dealerCardsInitialized = true;
-            }
-            animationTimer.start();
-        }
-
-        /**
-         * Inizializza le carte del dealer
-         *
-         * @param hand La mano del dealer
-         * @param hiddenCard La carta nascosta del dealer
-         */
-        private void initializeDealerCards(List<Model.Card> hand, Model.Card hiddenCard) {
-            dealerCards.clear();
-            dealerCards.add(new AnimationCard.NormalCard(hiddenCard, Controller.BOARD_WIDTH, 35));
-            dealerCards.add(new AnimationCard.NormalCard(hand.get(0), Controller.BOARD_WIDTH + CARD_WIDTH + 5, 35));
-            updateDealerCardPositions();
-        }
-
-        /**
-         * Aggiorna le posizioni delle carte del dealer
-         */
-        private void updateDealerCardPositions() {
-            updateCardPositions(dealerCards, 35);
-        }
-
-        /**
-         * Aggiorna la lista delle carte del giocatore
-         *
-         * @param hand La mano del giocatore
-         */
-        private void updatePlayerCardList(List<Model.Card> hand) {
-            for (int i = playerCards.size(); i < hand.size(); i++) {
-                Model.Card card = hand.get(i);
-                playerCards.add(new AnimationCard.NormalCard(card, Controller.BOARD_WIDTH, 570));
-            }
-            updatePlayerCardPositions();
-        }
-
-        /**
-         * Aggiorna le posizioni delle carte del giocatore
-         */
-        private void updatePlayerCardPositions() {
-            updateCardPositions(playerCards, 570);
-        }
-
-        /**
-         * Aggiorna le posizioni delle carte
-         *
-         * @param cards La lista delle carte da aggiornare
-         * @param y La coordinata y delle carte
-         */
-        private void updateCardPositions(List<AnimationCard.NormalCard> cards, int y) {
-            int totalWidth = cards.size() * CARD_WIDTH + (cards.size() - 1) * 5;
-            int startX = (Controller.BOARD_WIDTH - totalWidth) / 2;
-
-            for (int i = 0; i < cards.size(); i++) {
-                AnimationCard.NormalCard card = cards.get(i);
-                float targetX = startX + (CARD_WIDTH + 5) * i;
-                card.setTarget(targetX, y);
-                card.update();
-                card.setVisible(true);
-            }
-        }
-
-        /**
-         * Avvia l'animazione di rivelazione per il dealer
-         */
-        public void startDealerRevealAnimation() {
-            List<Model.Card> dealerHand = model.getDealerHand();
-            int existingCards = dealerCards.size();
-            int newCards = dealerHand.size() + 1 - existingCards;
-
-            for (int i = 0; i < existingCards; i++) {
-                dealerCards.get(i).setVisible(true);
-            }
-
-            for (int i = existingCards; i < dealerHand.size() + 1; i++) {
-                Model.Card card = (i == 0) ? model.getHiddenCard() : dealerHand.get(i - 1);
-                dealerCards.add(new AnimationCard.NormalCard(card, Controller.BOARD_WIDTH, 35));
-            }
-
-            updateDealerCardPositions(newCards);
-            animationTimer.start();
-        }
-
-        /**
-         * Aggiorna le posizioni delle carte del dealer in base al numero di nuove carte
-         *
-         * @param newCards Il numero di nuove carte
-         */
-        private void updateDealerCardPositions(int newCards) {
-            int totalCards = dealerCards.size();
-            int totalWidth = totalCards * CARD_WIDTH + (totalCards - 1) * 5;
-            int startX = (Controller.BOARD_WIDTH - totalWidth) / 2;
-
-            for (int i = 0; i < totalCards; i++) {
-                AnimationCard.NormalCard card = dealerCards.get(i);
-                float targetX = startX + (CARD_WIDTH + 5) * i;
-
-                if (i < totalCards - newCards) {
-                    card.setTarget(targetX, 35);
-                } else {
-                    card.x = Controller.BOARD_WIDTH;
-                    card.y = 35;
-                    card.setTarget(targetX, 35);
-                }
-
-                card.setVisible(true);
-            }
-        }
-
-        @Override
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-            if (model == null) return;
-
-            setBackground(new Color(53, 101, 77));
-
-            drawDealerInfo(g);
-            drawDealerCards(g);
-            drawPlayerCards(g);
-
-            if (gameEnded) {
-                showGameResult(g);
-                homeButton.setVisible(true);
-            } else {
-                homeButton.setVisible(false);
-            }
-
-            if (!animationTimer.isRunning()) {
-                animationTimer.start();
-            }
-        }
-
-        /**
-         * Disegna le informazioni del dealer
-         *
-         * @param g L'oggetto Graphics utilizzato per disegnare
-         */
-        private void drawDealerInfo(Graphics g) {
-            g.setFont(new Font("Arial", Font.PLAIN, 20));
-            g.setColor(Color.WHITE);
-            FontMetrics fm = g.getFontMetrics();
-            String message = "Dealer";
-            int x = (Controller.BOARD_WIDTH - fm.stringWidth(message)) / 2;
-            g.drawString(message, x, 20);
-        }
-
-        /**
-         * Disegna le carte del dealer
-         *
-         * @param g L'oggetto Graphics utilizzato per disegnare
-         */
-        private void drawDealerCards(Graphics g) {
-            for (int i = 0; i < dealerCards.size(); i++) {
-                AnimationCard.NormalCard card = dealerCards.get(i);
-                boolean faceUp = gameEnded || i > 0;
-                card.draw(g, faceUp);
-            }
-        }
-
-        /**
-         * Disegna le carte del giocatore
-         *
-         * @param g L'oggetto Graphics utilizzato per disegnare
-         */
-        private void drawPlayerCards(Graphics g) {
-            for (AnimationCard.NormalCard card : playerCards) {
-                card.draw(g, true);
-            }
-        }
-
-        /**
-         * Mostra il risultato del gioco sul pannello
-         *
-         * @param g L'oggetto Graphics utilizzato per disegnare
-         */
-        private void showGameResult(Graphics g) {
-            int dealerFinalSum = model.reduceAce(model.getDealerSum(), model.getDealerAceCount());
-            int playerFinalSum = model.reduceAce(model.getPlayerSum(), model.getPlayerAceCount());
-            gameEnded = true;
-
-            String message = getGameResultMessage(playerFinalSum, dealerFinalSum);
-            result = getResultFromMessage(message);
-
-            g.setFont(new Font("Arial", Font.BOLD, 30));
-            g.setColor(Color.WHITE);
-            FontMetrics fm = g.getFontMetrics();
-            int messageWidth = fm.stringWidth(message);
-            int messageHeight = fm.getHeight();
-            int x = (Controller.BOARD_WIDTH - messageWidth) / 2;
-            int y = (Controller.BOARD_HEIGHT - messageHeight) / 2 + fm.getAscent() - 20;
-
-            g.drawString(message, x, y);
-        }
-
-        /**
-         * Restituisce il messaggio con il risultato
-         *
-         * @param playerSum Il punteggio del giocatore
-         * @param dealerSum Il punteggio del dealer
-         * @return Il messaggio del risultato del gioco
-         */
-        private String getGameResultMessage(int playerSum, int dealerSum) {
-            if (playerSum > 21) return "Hai perso";
-            if (dealerSum > 21) return "Hai vinto";
-            if (playerSum == dealerSum) return "Pareggio";
-            return (playerSum > dealerSum) ? "Hai vinto" : "Hai perso";
-        }
-
-        /**
-         * Restituisce il codice della vittoria (1), della sconfitta (2) o del pareggio (3)
-         * @param message Il messaggio del risultato del gioco
-         * @return Il codice del risultato
-         */
-        private int getResultFromMessage(String message) {
-            switch (message) {
-                case "Hai vinto": return 1;
-                case "Hai perso": return 2;
-                case "Pareggio": return 3;
-                default: return 0;
-            }
-        }
-
-        /**
-         * Aggiunge un listener a "Home"
-         *
-         * @param listener
-         */
-        public void addHomeButtonListener(ActionListener listener) {
-            homeButton.addActionListener(listener);
-        }
-    }
-
-    @Override
-    public void updateView(Model model) {
-        AudioManager.getInstance().play("/BlackJack/resources/audio/card.wav");
-        gamePanel.setModel(model);
-        if (!gameEnded && !stayButton.isEnabled()) {
-            gameEnded = true;
-            gamePanel.startDealerRevealAnimation();
-        }
-    }
-
-    @Override
-    public void update(java.util.Observable o, Object arg) {
-        if (o instanceof Model) {
-            Model model = (Model) o;
-            updateView(model);
-        }
-    }
-}
-
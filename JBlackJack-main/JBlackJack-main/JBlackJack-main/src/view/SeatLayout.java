@@ -0,0 +1,285 @@
+package view;
+
+import controller.Controller;
+import model.Model;
+import model.Table;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.util.List;
+
+/**
+ * Descrizione della disposizione del tavolo usata da TableView
+ * Indica la dimensione delle carte e, per ogni mano (dealer e posti), dove si dispongono le carte,
+ * da dove arrivano, di quanto sono ruotate e dove si trova l'etichetta
+ */
+public final class SeatLayout {
+    // Spazio tra due carte della stessa mano
+    public static final int CARD_GAP = 5;
+
+    // Colore delle etichette dei bot
+    private static final Color BOT_LABEL_COLOR = new Color(185, 185, 185);
+
+    // true per le carte grandi (NormalCard), false per quelle ridotte (RotationCard)
+    private final boolean largeCards;
+
+    // Le mani disegnate, nell'ordine di disegno
+    private final List<Hand> hands;
+
+    /**
+     * Costruttore
+     *
+     * @param largeCards true per le carte grandi, false per quelle ridotte
+     * @param hands Le mani disegnate, nell'ordine di disegno
+     */
+    public SeatLayout(boolean largeCards, List<Hand> hands) {
+        this.largeCards = largeCards;
+        this.hands = List.copyOf(hands);
+    }
+
+    /**
+     * Restituisce la disposizione per una partita con il numero di giocatori indicato
+     *
+     * @param players Il numero di giocatori (1, 2 o 3)
+     * @return La disposizione del tavolo
+     */
+    public static SeatLayout forPlayers(int players) {
+        switch (players) {
+            case 1:
+                return new SeatLayout(true, List.of(
+                        dealer(),
+                        Hand.row(Model.PLAYER, 570, null)));
+            case 2:
+                return new SeatLayout(false, List.of(
+                        dealer(),
+                        Hand.row(Model.PLAYER, 620, null),
+                        leftBot(BOT_LABEL_COLOR)));
+            case 3:
+                return new SeatLayout(false, List.of(
+                        dealer(),
+                        Hand.row(Model.PLAYER, 620, null),
+                        leftBot(Color.LIGHT_GRAY),
+                        Hand.column(Model.BOT2, Controller.BOARD_WIDTH - AnimationCard.RotationCard.CARD_HEIGHT - 45, -32, -90,
+                                new Label("Player 3", Color.LIGHT_GRAY, Controller.BOARD_WIDTH - AnimationCard.RotationCard.CARD_HEIGHT - 50,
+                                        Controller.BOARD_WIDTH / 2 - 16, -90))));
+            default:
+                throw new IllegalArgumentException("Numero di giocatori non valido: " + players);
+        }
+    }
+
+    /**
+     * Mano del dealer, in riga in alto
+     *
+     * @return La mano del dealer
+     */
+    private static Hand dealer() {
+        return Hand.row(Table.DEALER, 35, new Label("Dealer", Color.WHITE, 20, Controller.BOARD_WIDTH / 2, 0));
+    }
+
+    /**
+     * Mano del primo bot, in colonna sul lato sinistro
+     *
+     * @param labelColor Il colore dell'etichetta
+     * @return La mano del bot
+     */
+    private static Hand leftBot(Color labelColor) {
+        return Hand.column(Model.BOT1, 45, 0, 90,
+                new Label("Player 2", labelColor, AnimationCard.RotationCard.CARD_HEIGHT + 50, Controller.BOARD_WIDTH / 2 - 16, 90));
+    }
+
+    public List<Hand> getHands() { return hands; }
+
+    /**
+     * @return La larghezza di una carta non ruotata
+     */
+    public int getCardWidth() {
+        return largeCards ? AnimationCard.NormalCard.CARD_WIDTH : AnimationCard.RotationCard.CARD_WIDTH;
+    }
+
+    /**
+     * Crea una carta animata della dimensione di questa disposizione
+     *
+     * @param card La carta
+     * @param x La posizione iniziale x
+     * @param y La posizione iniziale y
+     * @param rotation La rotazione in gradi
+     * @return La carta animata
+     */
+    public AnimationCard createCard(Model.Card card, float x, float y, int rotation) {
+        if (largeCards) {
+            return new AnimationCard.NormalCard(card, x, y);
+        }
+        return new AnimationCard.RotationCard(card, x, y, rotation != 0, rotation);
+    }
+
+    /**
+     * Una mano sul tavolo: una riga orizzontale (dealer e giocatore) o una colonna verticale (bot)
+     */
+    public static final class Hand {
+        // Indice del posto nella Table, oppure Table.DEALER
+        private final int index;
+        // true se le carte sono disposte in colonna
+        private final boolean vertical;
+        // Coordinata fissa: y per le righe, x per le colonne
+        private final int fixed;
+        // Spostamento del centro della colonna rispetto al centro del tavolo
+        private final int offset;
+        // Rotazione delle carte in gradi
+        private final int rotation;
+        // Etichetta della mano, null se non c'è
+        private final Label label;
+
+        private Hand(int index, boolean vertical, int fixed, int offset, int rotation, Label label) {
+            this.index = index;
+            this.vertical = vertical;
+            this.fixed = fixed;
+            this.offset = offset;
+            this.rotation = rotation;
+            this.label = label;
+        }
+
+        /**
+         * Mano disposta in una riga centrata orizzontalmente; le carte arrivano da destra
+         *
+         * @param index L'indice della mano nella Table
+         * @param y La coordinata y della riga
+         * @param label L'etichetta, o null
+         * @return La mano
+         */
+        public static Hand row(int index, int y, Label label) {
+            return new Hand(index, false, y, 0, 0, label);
+        }
+
+        /**
+         * Mano disposta in una colonna centrata verticalmente; le carte arrivano dal basso
+         *
+         * @param index L'indice della mano nella Table
+         * @param x La coordinata x della colonna
+         * @param offset Lo spostamento verticale del centro della colonna
+         * @param rotation La rotazione delle carte in gradi
+         * @param label L'etichetta, o null
+         * @return La mano
+         */
+        public static Hand column(int index, int x, int offset, int rotation, Label label) {
+            return new Hand(index, true, x, offset, rotation, label);
+        }
+
+        public int getIndex() { return index; }
+
+        public int getRotation() { return rotation; }
+
+        public Label getLabel() { return label; }
+
+        public boolean isDealer() { return index == Table.DEALER; }
+
+        public boolean isVertical() { return vertical; }
+
+        /**
+         * @return La coordinata x da cui arrivano le nuove carte
+         */
+        public float getSpawnX() {
+            return vertical ? fixed : Controller.BOARD_WIDTH;
+        }
+
+        /**
+         * @return La coordinata y da cui arrivano le nuove carte
+         */
+        public float getSpawnY() {
+            return vertical ? Controller.BOARD_HEIGHT : fixed;
+        }
+
+        /**
+         * Calcola la posizione di una carta della mano, centrando la mano sul tavolo
+         * Dopo uno split ogni mano del posto occupa una parte uguale della riga (o colonna);
+         * se le carte non entrano nella loro parte si sovrappongono
+         *
+         * @param group La mano del posto (0 se il posto non ha diviso)
+         * @param groups Il numero di mani del posto
+         * @param i La posizione della carta nella mano
+         * @param count Il numero di carte nella mano
+         * @param cardWidth La larghezza di una carta non ruotata
+         * @param target Il punto in cui scrivere la posizione
+         */
+        public void cardPosition(int group, int groups, int i, int count, int cardWidth, Point target) {
+            int slot = (vertical ? Controller.BOARD_HEIGHT : Controller.BOARD_WIDTH) / groups;
+            int step = cardWidth + CARD_GAP;
+            if (count > 1 && count * cardWidth + (count - 1) * CARD_GAP > slot - CARD_GAP) {
+                step = Math.max(1, (slot - CARD_GAP - cardWidth) / (count - 1));
+            }
+            int total = cardWidth + (count - 1) * step;
+            int position = group * slot + (slot - total) / 2 + step * i;
+            if (vertical) {
+                target.setLocation(fixed, position + offset);
+            } else {
+                target.setLocation(position, fixed);
+            }
+        }
+    }
+
+    /**
+     * Etichetta di una mano, centrata su un asse e ruotata di 0, 90 o -90 gradi
+     */
+    public static final class Label {
+        private final String text;
+        private final Color color;
+        // Coordinata fissa: y per le etichette orizzontali, x per quelle ruotate
+        private final int anchor;
+        // Centro del testo lungo la direzione di scrittura
+        private final int center;
+        private final int angle;
+
+        public Label(String text, Color color, int anchor, int center, int angle) {
+            this.text = text;
+            this.color = color;
+            this.anchor = anchor;
+            this.center = center;
+            this.angle = angle;
+        }
+
+        /**
+         * Calcola il rettangolo occupato dal testo, rotazione compresa
+         *
+         * @param fm Le metriche del font dell'etichetta
+         * @param bounds Il rettangolo in cui scrivere il risultato
+         * @return Lo stesso rettangolo bounds
+         */
+        public Rectangle getBounds(FontMetrics fm, Rectangle bounds) {
+            int width = fm.stringWidth(text);
+            int x = angle == 0 ? center - width / 2 : anchor;
+            int y = baseline(width);
+            return AnimationCard.rotatedBounds(x, y - fm.getAscent(), width, fm.getAscent() + fm.getDescent(),
+                    angle, x, y, bounds);
+        }
+
+        /**
+         * Coordinata y della linea di base, prima della rotazione
+         *
+         * @param width La larghezza del testo
+         * @return La coordinata y
+         */
+        private int baseline(int width) {
+            if (angle == 0) return anchor;
+            // Con 90 gradi il testo scende, con -90 sale
+            return angle > 0 ? center - width / 2 : center + width / 2;
+        }
+
+        /**
+         * Disegna l'etichetta con il font corrente
+         *
+         * @param g2d Il contesto grafico
+         */
+        public void draw(Graphics2D g2d) {
+            int width = g2d.getFontMetrics().stringWidth(text);
+            g2d.setColor(color);
+            if (angle == 0) {
+                g2d.drawString(text, center - width / 2, anchor);
+                return;
+            }
+            int y = baseline(width);
+            AffineTransform originalTransform = g2d.getTransform();
+            g2d.rotate(Math.toRadians(angle), anchor, y);
+            g2d.drawString(text, anchor, y);
+            g2d.setTransform(originalTransform);
+        }
+    }
+}
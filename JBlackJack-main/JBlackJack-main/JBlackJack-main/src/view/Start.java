@@ -10,6 +10,7 @@ import java.awt.event.ActionListener;
 /**
  * Schermata iniziale
  */
+@SuppressWarnings("serial")
 public class Start extends JPanel {
 
     private JLabel titleLabel;
@@ -0,0 +1,755 @@
+package view;
+
+import controller.Controller;
+
+import model.GameListener;
+import model.Model;
+import model.RoundSnapshot;
+import model.Table;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionListener;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tavolo di BlackJack con un numero qualsiasi di posti
+ * La disposizione delle mani è descritta da un SeatLayout; tutte le mani vengono
+ * aggiornate e disegnate dallo stesso ciclo, con un solo timer per le animazioni.
+ * Le carte seguono gli eventi del round (vedi getGameListener): ogni evento aggiunge, sposta o scopre
+ * una sola carta; le fotografie del round servono solo per le azioni disponibili e i risultati
+ */
+@SuppressWarnings("serial")
+public class TableView extends JPanel implements GameView {
+
+    // Font delle etichette e del risultato
+    private static final Font LABEL_FONT = new Font("Arial", Font.PLAIN, 20);
+    private static final Font RESULT_FONT = new Font("Arial", Font.BOLD, 30);
+
+    // Le carte di una mano sballata vengono disegnate semitrasparenti sul tavolo
+    private static final AlphaComposite BUSTED_COMPOSITE = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f);
+
+    // Intervallo tra due tick delle animazioni in millisecondi
+    private static final int TIMER_DELAY = 16;
+
+    // Con -Dblackjack.debugDirtyRects=true ogni area ridisegnata viene contornata di rosso
+    private static final boolean DEBUG_DIRTY_RECTS = Boolean.getBoolean("blackjack.debugDirtyRects");
+    private static final Color DEBUG_DIRTY_COLOR = new Color(255, 0, 0, 160);
+
+    private final SeatLayout layout;
+
+    public GamePanel gamePanel;
+
+    private JPanel buttonPanel;
+    private JButton hitButton;
+    private JButton stayButton;
+    private JButton doubleButton;
+    private JButton splitButton;
+    private JButton surrenderButton;
+    private JButton insuranceButton;
+
+    private boolean gameEnded = false;
+
+    // Ultima fotografia del round ricevuta
+    private RoundSnapshot snapshot;
+
+    // Ascoltatore degli eventi del round, che aggiorna il tavolo sull'EDT
+    private final GameListener gameListener = new TableListener();
+
+    /**
+     * Costruttore
+     *
+     * @param layout La disposizione del tavolo
+     */
+    public TableView(SeatLayout layout) {
+        this.layout = layout;
+        initializePanel();
+    }
+
+    /**
+     * Nel pannello vengono aggiunti il gamePanel e il buttonPanel
+     */
+    private void initializePanel() {
+        setLayout(new BorderLayout());
+        setBackground(Controller.BACKGROUND_COLOR);
+
+        gamePanel = new GamePanel();
+        add(gamePanel, BorderLayout.CENTER);
+
+        buttonPanel = createButtonPanel();
+        add(buttonPanel, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Crea e restituisce il pannello dei bottoni
+     *
+     * @return Il pannello dei bottoni delle azioni del giocatore
+     */
+    private JPanel createButtonPanel() {
+        JPanel panel = new JPanel();
+        panel.setBackground(Controller.BACKGROUND_COLOR);
+
+        hitButton = createButton("Hit");
+        stayButton = createButton("Stay");
+        doubleButton = createButton("Double");
+        splitButton = createButton("Split");
+        surrenderButton = createButton("Surrender");
+        insuranceButton = createButton("Insurance");
+
+        // Le azioni speciali si abilitano con la prima fotografia del round
+        setOptions(Model.OPTION_HIT | Model.OPTION_STAND);
+
+        panel.add(hitButton);
+        panel.add(stayButton);
+        panel.add(doubleButton);
+        panel.add(splitButton);
+        panel.add(surrenderButton);
+        panel.add(insuranceButton);
+
+        return panel;
+    }
+
+    /**
+     * Crea un bottone
+     *
+     * @param text sul bottone
+     * @return il bottone
+     */
+    public JButton createButton(String text) {
+        JButton button = new JButton(text);
+        button.setPreferredSize(new Dimension(100, 30));
+        return button;
+    }
+
+    @Override
+    public JButton getHitButton() {
+        return hitButton;
+    }
+
+    @Override
+    public JButton getStayButton() {
+        return stayButton;
+    }
+
+    @Override
+    public JButton getDoubleButton() {
+        return doubleButton;
+    }
+
+    @Override
+    public JButton getSplitButton() {
+        return splitButton;
+    }
+
+    @Override
+    public JButton getSurrenderButton() {
+        return surrenderButton;
+    }
+
+    @Override
+    public JButton getInsuranceButton() {
+        return insuranceButton;
+    }
+
+    /**
+     * Restituisce il risultato della partita del giocatore
+     *
+     * @return Il risultato (1 = vittoria, 2 = sconfitta, 3 = pareggio)
+     */
+    public int getResult() {
+        return getResult(Model.PLAYER);
+    }
+
+    /**
+     * Restituisce il risultato della partita di un posto
+     *
+     * @param seat Il posto
+     * @return Il risultato (1 = vittoria, 2 = sconfitta, 3 = pareggio)
+     */
+    public int getResult(int seat) {
+        return snapshot == null ? 0 : snapshot.getResult(seat);
+    }
+
+    /**
+     * Aggiunge un listener a "Home"
+     *
+     * @param listener Il listener da aggiungere al pulsante
+     */
+    public void addHomeButtonListener(ActionListener listener) {
+        gamePanel.addHomeButtonListener(listener);
+    }
+
+    /**
+     * Aggiorna la view con una fotografia del round: le carte sono già sul tavolo grazie agli eventi,
+     * la fotografia porta i risultati da mostrare a fine round
+     *
+     * @param snapshot La fotografia del round
+     */
+    @Override
+    public void updateView(RoundSnapshot snapshot) {
+        this.snapshot = snapshot;
+        gamePanel.setSnapshot(snapshot);
+    }
+
+    @Override
+    public GameListener getGameListener() {
+        return gameListener;
+    }
+
+    /**
+     * Esegue un aggiornamento sull'EDT: subito se si è già sull'EDT, altrimenti in coda
+     *
+     * @param update L'aggiornamento
+     */
+    private static void onEdt(Runnable update) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            update.run();
+        } else {
+            SwingUtilities.invokeLater(update);
+        }
+    }
+
+    /**
+     * Ascoltatore degli eventi del round: gli eventi arrivano dal thread di gioco
+     * e vengono applicati al GamePanel sull'EDT, nello stesso ordine
+     */
+    private class TableListener implements GameListener {
+        @Override
+        public void cardDealt(int hand, int index, int card) {
+            onEdt(() -> gamePanel.addCard(hand, card));
+        }
+
+        @Override
+        public void handSplit(int hand, int newHand) {
+            onEdt(() -> gamePanel.splitHand(hand, newHand));
+        }
+
+        @Override
+        public void handBusted(int hand, int total) {
+            onEdt(() -> gamePanel.bustHand(hand));
+        }
+
+        @Override
+        public void turnChanged(int seat, int hand) {
+            if (seat == Model.PLAYER) {
+                onEdt(() -> gamePanel.setActiveHand(hand));
+            }
+        }
+
+        @Override
+        public void dealerRevealed(int holeCard) {
+            onEdt(gamePanel::revealHoleCard);
+        }
+
+        @Override
+        public void roundSettled(int dealerTotal) {
+            onEdt(() -> {
+                gameEnded = true;
+                gamePanel.endRound();
+            });
+        }
+
+        @Override
+        public void bankrollChanged(int bankroll) {
+            onEdt(() -> gamePanel.setBankroll(bankroll));
+        }
+    }
+
+    /**
+     * Classe interna: il GamePanel, che disegna tutte le mani del SeatLayout
+     */
+    @SuppressWarnings("serial")
+    public class GamePanel extends JPanel {
+
+        private RoundSnapshot snapshot;
+        private JButton homeButton;
+        private JLabel bankrollLabel;
+        // Carte animate di ogni mano: le mani di layout.getHands() nello stesso ordine,
+        // ognuna con Table.MAX_HANDS gruppi per le mani nate dagli split (vedi cards)
+        private final List<List<AnimationCard>> handCards = new ArrayList<>();
+        // Indice in layout.getHands() di ogni posto, e del dealer in Table.DEALER
+        private final int[] layoutHands = new int[Table.DEALER + 1];
+        // Numero di mani di ogni mano del layout, cresce con gli split
+        private final int[] groups;
+        // Mani sballate, con lo stesso indice di handCards
+        private final boolean[] busted;
+        // Mano in gioco del giocatore
+        private int activeHand;
+        // true quando il dealer ha scoperto la carta nascosta
+        private boolean holeRevealed;
+        private Animator animator;
+        // Punto riutilizzato per il calcolo delle posizioni
+        private final Point target = new Point();
+        // Rettangoli riutilizzati per i limiti delle carte
+        private final Rectangle before = new Rectangle();
+        private final Rectangle after = new Rectangle();
+        private final Rectangle cardBounds = new Rectangle();
+        // Aree da ridisegnare nel tick corrente; solo le prime dirtyCount sono valide
+        private final List<Rectangle> dirty = new ArrayList<>();
+        private int dirtyCount;
+        // Etichette pre-renderizzate sul colore del tavolo, con la loro posizione; ricreate solo se cambia lo schermo
+        private BufferedImage[] labelImages;
+        private Rectangle[] labelBounds;
+        private GraphicsConfiguration labelConfiguration;
+
+        /**
+         * Costruttore della classe GamePanel
+         */
+        public GamePanel() {
+            List<SeatLayout.Hand> hands = layout.getHands();
+            for (int i = 0; i < hands.size() * Table.MAX_HANDS; i++) {
+                handCards.add(new ArrayList<>());
+            }
+            for (int h = 0; h < hands.size(); h++) {
+                SeatLayout.Hand hand = hands.get(h);
+                layoutHands[hand.isDealer() ? Table.DEALER : hand.getIndex()] = h;
+            }
+            groups = new int[hands.size()];
+            Arrays.fill(groups, 1);
+            busted = new boolean[handCards.size()];
+            initializePanel();
+        }
+
+        /**
+         * Inizializza il pannello di gioco
+         */
+        private void initializePanel() {
+            setLayout(null);
+            setBackground(Controller.BACKGROUND_COLOR);
+
+            homeButton = new JButton("Home");
+            homeButton.setBounds(getHomeButtonBounds());
+            homeButton.setVisible(false);
+            add(homeButton);
+
+            bankrollLabel = new JLabel();
+            bankrollLabel.setFont(LABEL_FONT);
+            bankrollLabel.setForeground(Color.WHITE);
+            bankrollLabel.setBounds(20, 10, 250, 30);
+            add(bankrollLabel);
+
+            animator = new Animator(TIMER_DELAY, this::advanceAnimations);
+        }
+
+        /**
+         * Restituisce le coordinate e le dimensioni del bottone "Home"
+         *
+         * @return Un rettangolo che rappresenta le coordinate e la dimensione del bottone "Home"
+         */
+        private Rectangle getHomeButtonBounds() {
+            int width = 100;
+            int height = 30;
+            int x = (Controller.BOARD_WIDTH - width) / 2;
+            int y = (Controller.BOARD_HEIGHT - height) / 2 + 20;
+            return new Rectangle(x, y, width, height);
+        }
+
+        /**
+         * Fa avanzare le animazioni delle carte del tempo trascorso e ridisegna
+         * solo le aree toccate dalle carte in movimento (posizione precedente e nuova)
+         *
+         * @param elapsedNanos I nanosecondi trascorsi dal tick precedente
+         * @return true se almeno una carta si sta ancora muovendo; altrimenti l'Animator si ferma
+         */
+        private boolean advanceAnimations(long elapsedNanos) {
+            boolean moving = false;
+            dirtyCount = 0;
+            for (List<AnimationCard> cards : handCards) {
+                for (AnimationCard card : cards) {
+                    if (card.isSettled()) continue;
+                    card.getBounds(before);
+                    moving |= card.update(elapsedNanos);
+                    before.add(card.getBounds(after));
+                    addDirty(before);
+                }
+            }
+            for (int i = 0; i < dirtyCount; i++) {
+                Rectangle region = dirty.get(i);
+                SwingUtilities.computeIntersection(0, 0, getWidth(), getHeight(), region);
+                if (!region.isEmpty()) {
+                    paintImmediately(region);
+                }
+            }
+            return moving;
+        }
+
+        /**
+         * Aggiunge un'area da ridisegnare, unendola alle aree che interseca
+         *
+         * @param region L'area da aggiungere (viene copiata)
+         */
+        private void addDirty(Rectangle region) {
+            Rectangle merged = null;
+            for (int i = 0; i < dirtyCount; i++) {
+                if (dirty.get(i).intersects(region)) {
+                    merged = dirty.get(i);
+                    merged.add(region);
+                    break;
+                }
+            }
+            if (merged == null) {
+                if (dirtyCount == dirty.size()) {
+                    dirty.add(new Rectangle());
+                }
+                dirty.get(dirtyCount++).setBounds(region);
+                return;
+            }
+            // L'unione può ora intersecare altre aree: si fondono finché sono tutte disgiunte
+            for (int i = 0; i < dirtyCount; i++) {
+                Rectangle other = dirty.get(i);
+                if (other != merged && other.intersects(merged)) {
+                    merged.add(other);
+                    dirty.set(i, dirty.get(dirtyCount - 1));
+                    dirty.set(dirtyCount - 1, other);
+                    dirtyCount--;
+                    i = -1;
+                }
+            }
+        }
+
+        /**
+         * Restituisce le carte animate di una mano
+         *
+         * @param h L'indice della mano in layout.getHands()
+         * @param group La mano del posto
+         * @return Le carte animate
+         */
+        private List<AnimationCard> cards(int h, int group) {
+            return handCards.get(h * Table.MAX_HANDS + group);
+        }
+
+        /**
+         * Restituisce l'indice nella Table di una mano del layout
+         *
+         * @param hand La mano del layout
+         * @param group La mano del posto
+         * @return L'indice della mano (vedi Table.hand)
+         */
+        private int slot(SeatLayout.Hand hand, int group) {
+            return hand.isDealer() ? Table.DEALER : Table.hand(hand.getIndex(), group);
+        }
+
+        /**
+         * Imposta la fotografia del round, usata per i risultati e per il segno della mano in gioco
+         *
+         * @param snapshot La fotografia del round da visualizzare
+         */
+        public void setSnapshot(RoundSnapshot snapshot) {
+            this.snapshot = snapshot;
+            repaint();
+        }
+
+        /**
+         * Restituisce l'indice in handCards di una mano della Table
+         *
+         * @param slot L'indice della mano (vedi Table.hand), oppure Table.DEALER
+         * @return L'indice delle carte animate della mano
+         */
+        private int cardsIndex(int slot) {
+            if (slot == Table.DEALER) {
+                return layoutHands[Table.DEALER] * Table.MAX_HANDS;
+            }
+            return layoutHands[Table.seatOf(slot)] * Table.MAX_HANDS + Table.handOf(slot);
+        }
+
+        /**
+         * Aggiunge una carta distribuita a una mano: arriva dal bordo del tavolo fino al suo posto
+         *
+         * @param slot L'indice della mano (vedi Table.hand), oppure Table.DEALER
+         * @param code La carta codificata
+         */
+        void addCard(int slot, int code) {
+            int index = cardsIndex(slot);
+            SeatLayout.Hand hand = layout.getHands().get(index / Table.MAX_HANDS);
+            handCards.get(index).add(layout.createCard(Model.Card.of(code), hand.getSpawnX(), hand.getSpawnY(), hand.getRotation()));
+            AudioManager.getInstance().play("/BlackJack/resources/audio/card.wav");
+            layoutHand(index / Table.MAX_HANDS);
+        }
+
+        /**
+         * Divide una mano: la seconda carta scorre nella nuova mano, senza essere ricreata
+         *
+         * @param slot L'indice della mano divisa
+         * @param newSlot L'indice della nuova mano
+         */
+        void splitHand(int slot, int newSlot) {
+            List<AnimationCard> cards = handCards.get(cardsIndex(slot));
+            handCards.get(cardsIndex(newSlot)).add(cards.remove(cards.size() - 1));
+            int h = cardsIndex(slot) / Table.MAX_HANDS;
+            groups[h]++;
+            layoutHand(h);
+        }
+
+        /**
+         * Segna una mano come sballata
+         *
+         * @param slot L'indice della mano (vedi Table.hand), oppure Table.DEALER
+         */
+        void bustHand(int slot) {
+            busted[cardsIndex(slot)] = true;
+            repaint();
+        }
+
+        /**
+         * Sposta il segno della mano in gioco del giocatore
+         *
+         * @param hand La mano del giocatore ora in gioco
+         */
+        void setActiveHand(int hand) {
+            activeHand = hand;
+            repaint();
+        }
+
+        /**
+         * Scopre la carta nascosta del dealer
+         */
+        void revealHoleCard() {
+            holeRevealed = true;
+            repaint();
+        }
+
+        /**
+         * Mostra la fine del round e il pulsante Home
+         */
+        void endRound() {
+            homeButton.setVisible(true);
+            repaint();
+        }
+
+        /**
+         * Aggiorna l'importo del giocatore
+         *
+         * @param bankroll Il nuovo importo
+         */
+        void setBankroll(int bankroll) {
+            bankrollLabel.setText("Importo: " + bankroll);
+        }
+
+        /**
+         * Assegna a ogni carta di una mano del layout la sua posizione come target e avvia le animazioni
+         *
+         * @param h L'indice della mano in layout.getHands()
+         */
+        private void layoutHand(int h) {
+            SeatLayout.Hand hand = layout.getHands().get(h);
+            for (int g = 0; g < groups[h]; g++) {
+                List<AnimationCard> cards = cards(h, g);
+                for (int i = 0; i < cards.size(); i++) {
+                    AnimationCard card = cards.get(i);
+                    hand.cardPosition(g, groups[h], i, cards.size(), layout.getCardWidth(), target);
+                    card.setTarget(target.x, target.y);
+                    card.setVisible(true);
+                }
+            }
+            repaint();
+            animator.start();
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            // Il pannello è opaco: riempie l'area da ridisegnare con il colore del tavolo
+            super.paintComponent(g);
+
+            Graphics2D g2d = (Graphics2D) g;
+            drawLabels(g2d);
+            drawCards(g2d);
+            drawPlayerHands(g2d);
+
+            // I risultati arrivano con la fotografia che segue la fine del round
+            if (gameEnded && snapshot != null && snapshot.isSettled()) {
+                showGameResult(g2d);
+            }
+
+            if (DEBUG_DIRTY_RECTS) {
+                Rectangle clip = g2d.getClipBounds();
+                if (clip != null) {
+                    g2d.setColor(DEBUG_DIRTY_COLOR);
+                    g2d.drawRect(clip.x, clip.y, clip.width - 1, clip.height - 1);
+                }
+            }
+        }
+
+        /**
+         * Copia le etichette pre-renderizzate che cadono nell'area da ridisegnare
+         *
+         * @param g2d L'oggetto Graphics utilizzato per disegnare
+         */
+        private void drawLabels(Graphics2D g2d) {
+            GraphicsConfiguration configuration = getGraphicsConfiguration();
+            if (labelImages == null || configuration != labelConfiguration) {
+                renderLabels(configuration);
+                labelConfiguration = configuration;
+            }
+            Rectangle clip = g2d.getClipBounds();
+            for (int i = 0; i < labelImages.length; i++) {
+                if (labelImages[i] == null || (clip != null && !clip.intersects(labelBounds[i]))) continue;
+                g2d.drawImage(labelImages[i], labelBounds[i].x, labelBounds[i].y, null);
+            }
+        }
+
+        /**
+         * Disegna una volta ogni etichetta in un'immagine opaca, con il colore del tavolo come sfondo,
+         * così a ogni frame resta solo una copia e il testo non viene più misurato né ruotato
+         *
+         * @param configuration La configurazione grafica del pannello, null se non è visualizzato
+         */
+        private void renderLabels(GraphicsConfiguration configuration) {
+            List<SeatLayout.Hand> hands = layout.getHands();
+            labelImages = new BufferedImage[hands.size()];
+            labelBounds = new Rectangle[hands.size()];
+            FontMetrics fm = getFontMetrics(LABEL_FONT);
+            // Stesso antialiasing del testo disegnato direttamente sul pannello
+            Object hints = Toolkit.getDefaultToolkit().getDesktopProperty("awt.font.desktophints");
+            for (int i = 0; i < hands.size(); i++) {
+                SeatLayout.Label label = hands.get(i).getLabel();
+                if (label == null) continue;
+                Rectangle bounds = label.getBounds(fm, new Rectangle());
+                BufferedImage image = configuration != null
+                        ? configuration.createCompatibleImage(bounds.width, bounds.height, Transparency.OPAQUE)
+                        : new BufferedImage(bounds.width, bounds.height, BufferedImage.TYPE_INT_RGB);
+                Graphics2D g2d = image.createGraphics();
+                if (hints instanceof Map) {
+                    g2d.addRenderingHints((Map<?, ?>) hints);
+                }
+                g2d.setColor(getBackground());
+                g2d.fillRect(0, 0, bounds.width, bounds.height);
+                g2d.translate(-bounds.x, -bounds.y);
+                g2d.setFont(LABEL_FONT);
+                label.draw(g2d);
+                g2d.dispose();
+                labelImages[i] = image;
+                labelBounds[i] = bounds;
+            }
+        }
+
+        /**
+         * Disegna le carte di tutte le mani; la prima carta del dealer resta coperta finché non viene scoperta
+         * e le mani sballate sono semitrasparenti
+         *
+         * @param g2d L'oggetto Graphics utilizzato per disegnare
+         */
+        private void drawCards(Graphics2D g2d) {
+            Rectangle clip = g2d.getClipBounds();
+            Composite composite = g2d.getComposite();
+            List<SeatLayout.Hand> hands = layout.getHands();
+            for (int h = 0; h < hands.size(); h++) {
+                boolean dealer = hands.get(h).isDealer();
+                for (int g = 0; g < Table.MAX_HANDS; g++) {
+                    List<AnimationCard> cards = cards(h, g);
+                    g2d.setComposite(busted[h * Table.MAX_HANDS + g] ? BUSTED_COMPOSITE : composite);
+                    for (int i = 0; i < cards.size(); i++) {
+                        AnimationCard card = cards.get(i);
+                        // Le carte fuori dall'area da ridisegnare non vengono disegnate
+                        if (clip != null && !clip.intersects(card.getBounds(cardBounds))) continue;
+                        card.draw(g2d, holeRevealed || !dealer || i > 0);
+                    }
+                }
+            }
+            g2d.setComposite(composite);
+        }
+
+        /**
+         * Quando il giocatore ha diviso, segna la mano in gioco con una linea sopra le carte
+         * e a fine round scrive sopra ogni mano il suo risultato
+         *
+         * @param g2d L'oggetto Graphics utilizzato per disegnare
+         */
+        private void drawPlayerHands(Graphics2D g2d) {
+            int h = layoutHands[Model.PLAYER];
+            int groups = this.groups[h];
+            SeatLayout.Hand hand = layout.getHands().get(h);
+            if (groups == 1 || hand.isVertical()) return;
+
+            int cardWidth = layout.getCardWidth();
+            g2d.setFont(LABEL_FONT);
+            g2d.setColor(Color.WHITE);
+            FontMetrics fm = g2d.getFontMetrics();
+            for (int g = 0; g < groups; g++) {
+                int count = cards(h, g).size();
+                if (count == 0) continue;
+                hand.cardPosition(g, groups, 0, count, cardWidth, target);
+                int x = target.x;
+                int y = target.y;
+                hand.cardPosition(g, groups, count - 1, count, cardWidth, target);
+                int width = target.x + cardWidth - x;
+                if (gameEnded) {
+                    if (snapshot == null || !snapshot.isSettled()) continue;
+                    String message = getHandMessage(slot(hand, g));
+                    g2d.drawString(message, x + (width - fm.stringWidth(message)) / 2, y - 10);
+                } else if (g == activeHand) {
+                    g2d.fillRect(x, y - 10, width, 3);
+                }
+            }
+        }
+
+        /**
+         * Mostra il risultato del giocatore sul pannello
+         *
+         * @param g L'oggetto Graphics utilizzato per disegnare
+         */
+        private void showGameResult(Graphics g) {
+            String message = getResultMessage(snapshot.getResult(Model.PLAYER));
+            if (snapshot.handCount(Model.PLAYER) == 1) {
+                int flags = snapshot.getFlags(Model.PLAYER);
+                if ((flags & Table.SURRENDERED) != 0) {
+                    message = "Ti sei arreso";
+                } else if (snapshot.isNatural(Model.PLAYER) && snapshot.getResult(Model.PLAYER) == Model.WIN) {
+                    message = "Blackjack!";
+                }
+            }
+
+            g.setFont(RESULT_FONT);
+            g.setColor(Color.WHITE);
+            FontMetrics fm = g.getFontMetrics();
+            int messageWidth = fm.stringWidth(message);
+            int messageHeight = fm.getHeight();
+            int x = (Controller.BOARD_WIDTH - messageWidth) / 2;
+            int y = (Controller.BOARD_HEIGHT - messageHeight) / 2 + fm.getAscent() - 20;
+
+            g.drawString(message, x, y);
+        }
+
+        /**
+         * Restituisce il messaggio corrispondente al codice del risultato
+         *
+         * @param resultCode Il codice del risultato
+         * @return Il messaggio del risultato
+         */
+        private String getResultMessage(int resultCode) {
+            switch (resultCode) {
+                case Model.WIN: return "Hai vinto";
+                case Model.LOSS: return "Hai perso";
+                case Model.PUSH: return "Pareggio";
+                default: return "";
+            }
+        }
+
+        /**
+         * Restituisce il messaggio breve del risultato di una mano divisa
+         *
+         * @param slot L'indice della mano (vedi Table.hand)
+         * @return Il messaggio
+         */
+        private String getHandMessage(int slot) {
+            switch (snapshot.getHandResult(slot)) {
+                case Model.WIN: return "Vinta";
+                case Model.LOSS: return "Persa";
+                case Model.PUSH: return "Pari";
+                default: return "";
+            }
+        }
+
+        /**
+         * Aggiunge un listener a "Home"
+         *
+         * @param listener Il listener da aggiungere al pulsante
+         */
+        public void addHomeButtonListener(ActionListener listener) {
+            homeButton.addActionListener(listener);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package persistence;
+
+import model.Model;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica il recupero del profilo dopo una chiusura regolare, una scrittura interrotta
+ * e un'interruzione durante la compattazione
+ */
+class ProfileStoreTest {
+    private static final String NICKNAME = "Giocatore";
+    private static final int AVATAR = 2;
+    private static final int IMPORTO = 1000;
+
+    // Nome dei file del profilo, come in ProfileStore.open
+    private static final String BASE = "profile-" + HexFormat.of().formatHex(NICKNAME.getBytes(StandardCharsets.UTF_8));
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void reopenRestoresRecordedRounds() throws IOException {
+        play(0, 10);
+        ProfileStore store = open();
+        assertProfile(10, store.getProfile());
+        store.close();
+    }
+
+    @Test
+    void reopenRestoresAvatar() throws IOException {
+        try (ProfileStore store = open()) {
+            store.recordAvatar(5);
+        }
+        try (ProfileStore store = open()) {
+            assertEquals(5, store.getProfile().getAvatar());
+        }
+    }
+
+    @Test
+    void tornTailIsDiscarded() throws IOException {
+        play(0, 10);
+        long size = Files.size(log());
+        // Una scrittura interrotta lascia solo una parte dell'ultimo record
+        Files.write(log(), new byte[] { 1, 2, 3, 4, 5, 6, 7 }, StandardOpenOption.APPEND);
+
+        ProfileStore store = open();
+        assertProfile(10, store.getProfile());
+        store.close();
+        assertEquals(size, Files.size(log()), "la coda incompleta deve essere troncata");
+
+        // I record successivi vengono scritti dopo l'ultimo record valido
+        play(10, 15);
+        try (ProfileStore reopened = open()) {
+            assertProfile(15, reopened.getProfile());
+        }
+    }
+
+    @Test
+    void corruptRecordDiscardsItAndTheFollowingOnes() throws IOException {
+        play(0, 10);
+        long recordSize = Files.size(log()) / 10;
+        // Un byte sbagliato nell'ottavo record invalida il suo CRC
+        try (FileChannel channel = FileChannel.open(log(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long position = 7 * recordSize + recordSize - 1;
+            ByteBuffer one = ByteBuffer.allocate(1);
+            channel.read(one, position);
+            one.put(0, (byte) (one.get(0) ^ 0x5A)).rewind();
+            channel.write(one, position);
+        }
+
+        try (ProfileStore store = open()) {
+            assertProfile(7, store.getProfile());
+        }
+        assertEquals(7 * recordSize, Files.size(log()));
+    }
+
+    @Test
+    void compactionWritesSnapshotAndEmptiesLog() throws IOException {
+        play(0, 1);
+        long recordSize = Files.size(log());
+        int rounds = ProfileStore.COMPACT_EVERY + 5;
+        play(1, rounds);
+        assertTrue(Files.exists(snapshot()), "dopo COMPACT_EVERY record deve esistere la fotografia");
+        // La fotografia viene scritta dopo il gruppo di record che raggiunge COMPACT_EVERY
+        assertTrue(Files.size(log()) <= 5 * recordSize, "il log deve contenere solo i record successivi alla fotografia");
+
+        try (ProfileStore store = open()) {
+            assertProfile(rounds, store.getProfile());
+        }
+    }
+
+    @Test
+    void recordsCoveredBySnapshotAreSkipped() throws IOException {
+        int before = ProfileStore.COMPACT_EVERY - 1;
+        play(0, before);
+        assertTrue(Files.notExists(snapshot()));
+        byte[] staleLog = Files.readAllBytes(log());
+
+        // Il record successivo fa scrivere la fotografia e svuotare il log
+        play(before, ProfileStore.COMPACT_EVERY);
+        assertTrue(Files.exists(snapshot()));
+
+        // Interruzione tra il rename della fotografia e il troncamento del log: i vecchi record restano nel log
+        Files.write(log(), staleLog);
+
+        try (ProfileStore store = open()) {
+            assertProfile(ProfileStore.COMPACT_EVERY, store.getProfile());
+        }
+
+        // I nuovi record proseguono la sequenza della fotografia e non vengono saltati
+        play(ProfileStore.COMPACT_EVERY, ProfileStore.COMPACT_EVERY + 3);
+        try (ProfileStore store = open()) {
+            assertProfile(ProfileStore.COMPACT_EVERY + 3, store.getProfile());
+        }
+    }
+
+    @Test
+    void recordsAfterCloseAreIgnored() throws IOException {
+        ProfileStore store = open();
+        record(store, 0, 3);
+        store.close();
+        store.recordRound(Model.WIN, 1);
+
+        try (ProfileStore reopened = open()) {
+            assertProfile(3, reopened.getProfile());
+        }
+    }
+
+    /**
+     * Apre l'archivio, registra i round [from, to) e lo chiude
+     */
+    private void play(int from, int to) throws IOException {
+        try (ProfileStore store = open()) {
+            record(store, from, to);
+        }
+    }
+
+    /**
+     * Registra i round [from, to): il round i ha risultato (i % 3) + 1 e importo i
+     */
+    private static void record(ProfileStore store, int from, int to) {
+        for (int i = from; i < to; i++) {
+            store.recordRound(i % 3 + 1, i);
+        }
+    }
+
+    /**
+     * Verifica che il profilo contenga esattamente i primi rounds round registrati da record
+     */
+    private static void assertProfile(int rounds, PlayerProfile profile) {
+        assertEquals(NICKNAME, profile.getNickname());
+        assertEquals(AVATAR, profile.getAvatar());
+        assertEquals((rounds + 2) / 3, profile.getWinCount(), "vittorie");
+        assertEquals((rounds + 1) / 3, profile.getDefeatCount(), "sconfitte");
+        assertEquals(rounds / 3, profile.getDrawCount(), "pareggi");
+        assertEquals(rounds == 0 ? IMPORTO : rounds - 1, profile.getImporto(), "importo");
+    }
+
+    private ProfileStore open() throws IOException {
+        return ProfileStore.open(dir, NICKNAME, AVATAR, IMPORTO);
+    }
+
+    private Path log() {
+        return dir.resolve(BASE + ".log");
+    }
+
+    private Path snapshot() {
+        return dir.resolve(BASE + ".snap");
+    }
+}